@@ -0,0 +1,35 @@
+package br.com.concessionaria.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do {@code benchmarks.jar}. Aceita as mesmas opções da linha de comando do JMH
+ * (filtro por regex, {@code -f}, {@code -wi}, {@code -p size=1000} etc.), mas grava o resultado em
+ * JSON por padrão, para que cada versão possa ser comparada com a anterior.
+ *
+ * <pre>
+ * mvn -f Back/pom.xml -pl benchmarks -am package -DskipTests
+ * java -jar Back/benchmarks/target/benchmarks.jar                        # todos, em jmh-result.json
+ * java -jar Back/benchmarks/target/benchmarks.jar Pricing -rff pricing.json
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.concessionaria.benchmarks;
+
+import br.com.concessionaria.carsservice.dto.CartResponse;
+import br.com.concessionaria.carsservice.dto.SaleResponse;
+import br.com.concessionaria.carsservice.model.Cart;
+import br.com.concessionaria.carsservice.model.Sale;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson das listas retornadas pela API: veículos ({@code GET /vehicles}),
+ * vendas ({@code GET /sales}) e itens de carrinho ({@code GET /cart/active/...}), com 1 mil e 100 mil itens.
+ * O ObjectMapper é montado como o do Spring Boot e escreve em um stream descartável,
+ * como faz o conversor HTTP ao gravar direto na resposta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<Vehicle> vehicles;
+    private List<SaleResponse> sales;
+    private List<CartResponse> carts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writer();
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 30);
+        vehicles = new ArrayList<>(size);
+        sales = new ArrayList<>(size);
+        carts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Vehicle vehicle = new Vehicle((long) i, 2015 + i % 10, 50_000.0 + i, i % 5 == 0 ? "Branco" : "Preto",
+                    "Modelo " + (i % 40), true);
+            vehicles.add(vehicle);
+            sales.add(SaleResponse.from(new Sale((long) i, "VENDA", "cliente" + i + "@email.com", "vendedor@concessionaria.com",
+                    vehicle, now.plusMinutes(i), vehicle.getBasePrice() * 0.95, i % 3 == 0 ? "VIP" : "COMUM")));
+            carts.add(CartResponse.from(new Cart((long) i, vehicle, "cliente" + (i % 100) + "@email.com", now.plusSeconds(i))));
+        }
+    }
+
+    @Benchmark
+    public void vehicles() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), vehicles);
+    }
+
+    @Benchmark
+    public void sales() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), sales);
+    }
+
+    @Benchmark
+    public void carts() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), carts);
+    }
+}
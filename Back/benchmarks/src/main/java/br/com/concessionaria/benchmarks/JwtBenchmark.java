@@ -0,0 +1,79 @@
+package br.com.concessionaria.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e validação de JWT nos dois serviços.
+ * O user-service emite os tokens no login e valida a assinatura a cada requisição;
+ * o cars-service valida os mesmos tokens passando pelo cache de tokens já verificados.
+ * {@code userServiceValidate} (verificação HMAC completa) é a referência para o ganho do cache;
+ * para comparar com várias threads, use {@code -t 4}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    // Quantidade de usuários distintos autenticados ao mesmo tempo
+    private static final int TOKENS = 1_000;
+
+    private br.com.concessionaria.user.security.JwtUtil userJwt;
+    private br.com.concessionaria.carsservice.security.JwtUtil carsJwt;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userJwt = new br.com.concessionaria.user.security.JwtUtil();
+        carsJwt = new br.com.concessionaria.carsservice.security.JwtUtil(10_000, 3600);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = userJwt.generateToken("cliente" + i + "@email.com", "CLIENTE", "Cliente " + i,
+                    String.format("%011d", i));
+            carsJwt.isTokenValid(tokens[i]);
+        }
+    }
+
+    @Benchmark
+    public String userServiceGenerate() {
+        return userJwt.generateToken("cliente@email.com", "CLIENTE", "Cliente", "12345678901");
+    }
+
+    @Benchmark
+    public Claims userServiceValidate() {
+        return userJwt.parseValidClaims(nextToken());
+    }
+
+    // O token de serviço é reaproveitado até perto de expirar: mede o caminho usado a cada chamada ao user-service
+    @Benchmark
+    public String carsServiceGenerateServiceToken() {
+        return carsJwt.getServiceToken();
+    }
+
+    @Benchmark
+    public boolean carsServiceValidate() {
+        return carsJwt.isTokenValid(nextToken());
+    }
+
+    private String nextToken() {
+        String token = tokens[next];
+        next = (next + 1) % TOKENS;
+        return token;
+    }
+}
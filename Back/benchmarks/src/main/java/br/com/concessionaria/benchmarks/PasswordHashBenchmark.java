@@ -0,0 +1,52 @@
+package br.com.concessionaria.benchmarks;
+
+import br.com.concessionaria.user.security.RehashingPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da verificação BCrypt feita a cada login, por fator de custo.
+ * Ajuda a escolher users.password.bcrypt-cost: cada unidade a mais dobra o tempo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    @Param({"10", "12"})
+    private int cost;
+
+    private RehashingPasswordEncoder encoder;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new RehashingPasswordEncoder(cost);
+        hash = encoder.encode("123456");
+    }
+
+    @Benchmark
+    public boolean verifyCorrectPassword() {
+        return encoder.matches("123456", hash);
+    }
+
+    @Benchmark
+    public boolean verifyWrongPassword() {
+        return encoder.matches("senha_errada", hash);
+    }
+}
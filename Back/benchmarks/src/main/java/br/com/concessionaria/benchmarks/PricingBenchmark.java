@@ -0,0 +1,60 @@
+package br.com.concessionaria.benchmarks;
+
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.service.PricingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@link PricingService#calcularPrecoFinal} por item, como no checkout de um carrinho.
+ * As cores e os tipos de cliente variam entre os itens para que todos os ramos sejam exercitados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final int ITEMS = 1_024;
+    private static final String[] COLORS = {"Branco", "Preto", "Prata", "branco", "Vermelho"};
+
+    private final PricingService pricingService = new PricingService();
+    private Vehicle[] vehicles;
+    private String[] clientTypes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        vehicles = new Vehicle[ITEMS];
+        clientTypes = new String[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            vehicles[i] = new Vehicle((long) i, 2015 + random.nextInt(10), 50_000.0 + random.nextInt(150_000),
+                    COLORS[random.nextInt(COLORS.length)], "Modelo " + i, true);
+            clientTypes[i] = random.nextBoolean() ? "VIP" : "COMUM";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void calcularPrecoFinal(Blackhole blackhole) {
+        for (int i = 0; i < ITEMS; i++) {
+            blackhole.consume(pricingService.calcularPrecoFinal(vehicles[i], clientTypes[i]));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.concessionaria.benchmarks;
+
+import br.com.concessionaria.carsservice.CarsServiceApplication;
+import br.com.concessionaria.carsservice.dto.KeysetPage;
+import br.com.concessionaria.carsservice.dto.VehicleFilter;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import br.com.concessionaria.carsservice.service.VehicleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de leitura de veículos com o cache de segundo nível do Hibernate ligado e desligado.
+ * As leituras usam o repositório e as páginas do catálogo (que não ficam em cache),
+ * sem passar pelo cache da aplicação do {@link VehicleService}.
+ *
+ * Sobe o cars-service com o perfil "loadtest" (H2 em memória, em que a ida ao banco é barata);
+ * para medir contra o PostgreSQL, informe {@code -jvmArgs -Dspring.datasource.url=...} (e usuário/senha).
+ *
+ * <pre>
+ * java -jar Back/benchmarks/target/benchmarks.jar VehicleSecondLevelCache -rff vehicle-l2.json
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class VehicleSecondLevelCacheBenchmark {
+
+    private static final int VEHICLES = 2_000;
+    private static final String[] MODELS = {"Civic", "Corolla", "Onix", "HB20", "Compass"};
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private VehicleRepository vehicleRepository;
+    private VehicleService vehicleService;
+    private Long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // O jar dos benchmarks também contém as migrações do user-service no mesmo caminho
+        // (db/migration/common), então o esquema é criado pelo Hibernate a partir das entidades
+        context = new SpringApplicationBuilder(CarsServiceApplication.class)
+                .profiles("loadtest")
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache);
+        vehicleRepository = context.getBean(VehicleRepository.class);
+        vehicleService = context.getBean(VehicleService.class);
+
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < VEHICLES; i++) {
+            vehicles.add(new Vehicle(null, 2015 + i % 10, 50000.0 + i, "Preto", MODELS[i % MODELS.length], true));
+        }
+        ids = vehicleRepository.saveAll(vehicles).stream().map(Vehicle::getId).toArray(Long[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Detalhe do veículo (GET /vehicles/{id} sem o cache da aplicação)
+    @Benchmark
+    public Optional<Vehicle> findById() {
+        return vehicleRepository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    // Primeira página do catálogo filtrada por modelo, com o total
+    @Benchmark
+    public KeysetPage<Vehicle> catalogPage() {
+        VehicleFilter filter = new VehicleFilter();
+        filter.setModel(MODELS[ThreadLocalRandom.current().nextInt(MODELS.length)]);
+        return vehicleService.findAvailablePage(filter, null, 20, true);
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.concessionaria.carsservice.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Implementação em memória usada nos testes e com uma única instância do serviço.
+ * Guarda o que foi publicado e permite simular, com {@link #receive(Collection)},
+ * uma invalidação enviada por outra réplica.
+ */
+@Component
+@ConditionalOnProperty(name = "cars.cache-invalidation.mode", havingValue = "local")
+public class LocalVehicleInvalidationChannel implements VehicleInvalidationChannel {
+
+    private final List<List<Long>> published = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Collection<Long>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Collection<Long> vehicleIds) {
+        published.add(List.copyOf(vehicleIds));
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<Long>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Entrega aos assinantes uma invalidação como se viesse de outra instância.
+     *
+     * @param vehicleIds IDs dos veículos alterados (vazio invalida todos)
+     */
+    public void receive(Collection<Long> vehicleIds) {
+        listeners.forEach(listener -> listener.accept(vehicleIds));
+    }
+
+    /**
+     * @return Invalidações publicadas por esta instância, em ordem
+     */
+    public List<List<Long>> getPublished() {
+        return published;
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.concessionaria.carsservice.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Invalidação entre réplicas com {@code LISTEN/NOTIFY} do PostgreSQL.
+ *
+ * A publicação é um {@code pg_notify} em uma conexão do pool. Cada instância mantém
+ * uma conexão própria (fora do pool) escutando o canal; as mensagens levam o ID da
+ * instância de origem para que ela ignore as próprias publicações.
+ * Sempre que a conexão de escuta é (re)aberta os caches são descartados por inteiro,
+ * pois mensagens enviadas enquanto ela estava fechada foram perdidas.
+ */
+@Component
+@ConditionalOnProperty(name = "cars.cache-invalidation.mode", havingValue = "postgres", matchIfMissing = true)
+@Slf4j
+public class PostgresVehicleInvalidationChannel implements VehicleInvalidationChannel {
+
+    static final String CHANNEL = "vehicle_cache";
+
+    // O PostgreSQL aceita payloads de até 8000 bytes; acima disso invalida tudo
+    private static final int MAX_PAYLOAD = 7900;
+    private static final String ALL = "*";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final long reconnectDelayMs;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<Consumer<Collection<Long>>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresVehicleInvalidationChannel(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                              @Value("${cars.cache-invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @Override
+    public void publish(Collection<Long> vehicleIds) {
+        String body = vehicleIds.isEmpty() ? ALL
+                : vehicleIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String payload = instanceId + ":" + (body.length() > MAX_PAYLOAD - instanceId.length() - 1 ? ALL : body);
+        try {
+            jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) statement -> {
+                statement.setString(1, CHANNEL);
+                statement.setString(2, payload);
+                return statement.execute();
+            });
+        } catch (DataAccessException e) {
+            log.warn("Falha ao publicar invalidação de veículos; as outras réplicas dependem do TTL", e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<Long>> listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "vehicle-cache-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread.join(reconnectDelayMs);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                deliver(List.of());
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Conexão de escuta das invalidações de veículos perdida; reconectando", e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        String body = payload.substring(separator + 1);
+        try {
+            deliver(ALL.equals(body) ? List.of()
+                    : Arrays.stream(body.split(",")).map(Long::valueOf).toList());
+        } catch (NumberFormatException e) {
+            log.warn("Invalidação de veículos inválida ignorada: {}", payload);
+        }
+    }
+
+    private void deliver(Collection<Long> vehicleIds) {
+        for (Consumer<Collection<Long>> listener : listeners) {
+            try {
+                listener.accept(vehicleIds);
+            } catch (RuntimeException e) {
+                log.error("Erro ao aplicar invalidação de veículos", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.concessionaria.carsservice.cache;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Canal que avisa as outras réplicas do cars-service quando veículos são alterados,
+ * para que descartem as cópias em cache (cache da aplicação e cache de segundo nível).
+ */
+public interface VehicleInvalidationChannel {
+
+    /**
+     * Publica a alteração para as demais instâncias. Falhas são registradas e ignoradas:
+     * nesse caso as outras réplicas dependem do TTL dos caches.
+     *
+     * @param vehicleIds IDs dos veículos alterados (vazio invalida todos os veículos)
+     */
+    void publish(Collection<Long> vehicleIds);
+
+    /**
+     * Registra quem trata as invalidações vindas de outras instâncias.
+     * As mensagens publicadas pela própria instância não são entregues de volta.
+     *
+     * @param listener Recebe os IDs alterados (vazio significa todos os veículos)
+     */
+    void subscribe(Consumer<Collection<Long>> listener);
+}
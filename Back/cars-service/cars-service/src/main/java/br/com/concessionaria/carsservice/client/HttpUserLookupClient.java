@@ -0,0 +1,58 @@
+package br.com.concessionaria.carsservice.client;
+
+import br.com.concessionaria.carsservice.dto.ClientProfile;
+import br.com.concessionaria.carsservice.security.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cliente HTTP do endpoint {@code POST /users/batch} do user-service.
+ * Autentica com o token de serviço gerado pelo {@link JwtUtil}.
+ */
+@Component
+@ConditionalOnProperty(name = "cars.user-service.mode", havingValue = "http", matchIfMissing = true)
+public class HttpUserLookupClient implements UserLookupClient {
+
+    private final RestClient restClient;
+    private final JwtUtil jwtUtil;
+
+    public HttpUserLookupClient(RestClient.Builder builder, JwtUtil jwtUtil,
+                                @Value("${cars.user-service.url:http://localhost:8081}") String baseUrl,
+                                @Value("${cars.user-service.timeout-ms:2000}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = builder.baseUrl(baseUrl).requestFactory(requestFactory).build();
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public Map<String, ClientProfile> findByDocuments(Collection<String> documents) {
+        try {
+            List<ClientProfile> profiles = restClient.post()
+                    .uri("/users/batch")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.getServiceToken())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("documents", documents))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<ClientProfile>>() {});
+            return profiles == null ? Map.of() : profiles.stream()
+                    .collect(Collectors.toMap(ClientProfile::getDocument, Function.identity(), (a, b) -> a));
+        } catch (RestClientException e) {
+            throw new UserServiceUnavailableException("Falha ao consultar o user-service", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.concessionaria.carsservice.client;
+
+import br.com.concessionaria.carsservice.dto.ClientProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementação local usada nos testes e no desenvolvimento sem o user-service.
+ * Os documentos em {@code cars.user-service.stub.vip-documents} são VIP; os demais
+ * podem ser registrados com {@link #register(String, boolean)}.
+ */
+@Component
+@ConditionalOnProperty(name = "cars.user-service.mode", havingValue = "stub")
+public class StubUserLookupClient implements UserLookupClient {
+
+    private final Map<String, ClientProfile> profiles = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    public StubUserLookupClient(@Value("${cars.user-service.stub.vip-documents:}") List<String> vipDocuments) {
+        vipDocuments.forEach(document -> register(document, true));
+    }
+
+    public void register(String document, boolean vip) {
+        profiles.put(document, new ClientProfile(document, vip, "CLIENTE"));
+    }
+
+    /**
+     * @return Quantas consultas em lote já foram feitas (útil para verificar o cache)
+     */
+    public int getCalls() {
+        return calls.get();
+    }
+
+    @Override
+    public Map<String, ClientProfile> findByDocuments(Collection<String> documents) {
+        calls.incrementAndGet();
+        Map<String, ClientProfile> found = new HashMap<>();
+        for (String document : documents) {
+            ClientProfile profile = profiles.get(document);
+            if (profile != null) {
+                found.put(document, profile);
+            }
+        }
+        return found;
+    }
+}
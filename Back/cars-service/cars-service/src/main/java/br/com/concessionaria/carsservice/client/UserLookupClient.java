@@ -0,0 +1,21 @@
+package br.com.concessionaria.carsservice.client;
+
+import br.com.concessionaria.carsservice.dto.ClientProfile;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Consulta em lote dos dados de clientes no user-service.
+ */
+public interface UserLookupClient {
+
+    /**
+     * Busca os perfis de vários clientes em uma única chamada.
+     *
+     * @param documents Documentos dos clientes
+     * @return Perfis encontrados, indexados pelo documento (documentos desconhecidos ficam de fora)
+     * @throws UserServiceUnavailableException se o user-service não responder
+     */
+    Map<String, ClientProfile> findByDocuments(Collection<String> documents);
+}
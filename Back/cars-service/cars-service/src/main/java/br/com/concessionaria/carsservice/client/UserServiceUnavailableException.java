@@ -0,0 +1,11 @@
+package br.com.concessionaria.carsservice.client;
+
+/**
+ * Lançada quando não é possível consultar o user-service.
+ */
+public class UserServiceUnavailableException extends RuntimeException {
+
+    public UserServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
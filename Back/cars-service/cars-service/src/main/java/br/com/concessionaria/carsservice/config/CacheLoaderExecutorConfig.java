@@ -0,0 +1,53 @@
+package br.com.concessionaria.carsservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor das cargas assíncronas dos caches (veículos e consulta ao user-service).
+ *
+ * Com threads virtuais ({@code spring.threads.virtual.enabled=true}) cada carga roda em uma thread
+ * virtual própria. O executor é criado aqui, e não reaproveitado do executor de tarefas do Spring:
+ * um bean {@link Executor} da aplicação faz o Spring Boot não criar o {@code applicationTaskExecutor}.
+ * Com threads de plataforma, as cargas ganham um pool próprio e limitado: com a fila cheia, a carga
+ * roda na thread que pediu o valor, o que freia a entrada de novas requisições em vez de acumular tarefas.
+ */
+@Configuration
+public class CacheLoaderExecutorConfig {
+
+    public static final String CACHE_LOADER_EXECUTOR = "cacheLoaderExecutor";
+
+    @Bean(CACHE_LOADER_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualCacheLoaderExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("cache-loader-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    @Bean(CACHE_LOADER_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService platformCacheLoaderExecutor(@Value("${cars.cache-loader.threads:8}") int threads,
+                                                       @Value("${cars.cache-loader.queue-capacity:1000}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-loader-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.concessionaria.carsservice.config;
+
+import br.com.concessionaria.carsservice.repository.CartRepository;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import br.com.concessionaria.carsservice.service.CartExpiryScheduler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges do estado do estoque e dos carrinhos, publicados em /actuator/prometheus.
+ * Os valores de banco são lidos a cada coleta (consultas COUNT simples e indexadas);
+ * o atraso da expiração vem da fila em memória desta réplica.
+ */
+@Component
+public class CarsMetricsBinder implements MeterBinder {
+
+    private final CartRepository cartRepository;
+    private final VehicleRepository vehicleRepository;
+    private final CartExpiryScheduler cartExpiryScheduler;
+
+    public CarsMetricsBinder(CartRepository cartRepository,
+                             VehicleRepository vehicleRepository,
+                             CartExpiryScheduler cartExpiryScheduler) {
+        this.cartRepository = cartRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.cartExpiryScheduler = cartExpiryScheduler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cars.carts.active", cartRepository, CartRepository::count)
+                .description("Carrinhos com reserva ativa")
+                .register(registry);
+
+        Gauge.builder("cars.vehicles", vehicleRepository, VehicleRepository::countByAvailableTrue)
+                .tag("state", "available")
+                .description("Veículos por situação")
+                .register(registry);
+        // Cada carrinho reserva um veículo (available = false até o checkout ou a expiração)
+        Gauge.builder("cars.vehicles", cartRepository, CartRepository::count)
+                .tag("state", "reserved")
+                .description("Veículos por situação")
+                .register(registry);
+        Gauge.builder("cars.vehicles", this, binder -> Math.max(0,
+                        binder.vehicleRepository.countByAvailableFalse() - binder.cartRepository.count()))
+                .tag("state", "sold")
+                .description("Veículos por situação")
+                .register(registry);
+
+        Gauge.builder("cars.cart.expiry.lag", cartExpiryScheduler, scheduler -> scheduler.overdueMillis() / 1000.0)
+                .baseUnit("seconds")
+                .description("Há quanto tempo venceu o carrinho mais antigo ainda não expirado nesta réplica")
+                .register(registry);
+    }
+}
@@ -0,0 +1,295 @@
+package br.com.concessionaria.carsservice.config;
+
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.service.PricingService;
+import br.com.concessionaria.carsservice.service.SalesTotalsService;
+import br.com.concessionaria.carsservice.service.VehicleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera massas grandes de veículos e vendas para testes de escala
+ * ({@code --seed.vehicles=1_000_000 --seed.sales=5_000_000}).
+ *
+ * Os dados são determinísticos: cada linha sai de um gerador aleatório semeado com
+ * {@code seed.random-seed} e com o próprio índice, então o resultado não depende da quantidade
+ * de threads nem da ordem em que os blocos terminam. As linhas são gravadas por JDBC em lotes
+ * ({@code seed.batch-size}), em blocos paralelos com uma transação cada ({@code seed.threads}).
+ *
+ * Os clientes e vendedores das vendas seguem as mesmas regras por índice do gerador de usuários
+ * do user-service ({@code seed.users}): documento e login derivados do índice, vendedor a cada
+ * 100 usuários e VIP quando o índice termina em 1 ou 6. Sem {@code seed.users}, as vendas usam
+ * os usuários iniciais do DataSeeder.
+ *
+ * Deve rodar com o banco sem tráfego: os IDs são reservados na sequência antes dos INSERTs,
+ * mas os caches de outras réplicas só são invalidados ao final.
+ */
+@Component
+@Slf4j
+public class SyntheticDataGenerator {
+
+    // Um veículo a cada SOLD_EVERY fica vendido (available = false); as vendas apontam para eles
+    static final int SOLD_EVERY = 10;
+    static final String[] MODELS = {"Onix", "HB20", "Argo", "Corolla", "Civic", "Sentra", "Compass", "HR-V",
+            "T-Cross", "Camry", "Accord"};
+    static final String[] COLORS = {"Branco", "Prata", "Preto", "Cinza", "Azul", "Vermelho"};
+
+    private static final long VEHICLE_STREAM = 1;
+    private static final long SALE_STREAM = 2;
+    private static final int HISTORY_DAYS = 730;
+    private static final String DEFAULT_SELLER = "vendedor@concessionaria.com";
+    private static final String[] DEFAULT_CLIENTS = {"222.222.222-22", "333.333.333-33"};
+
+    private final DataSource dataSource;
+    private final PricingService pricingService;
+    private final SalesTotalsService salesTotalsService;
+    private final VehicleService vehicleService;
+    private final long randomSeed;
+    private final int threads;
+    private final int batchSize;
+    private final long vehicles;
+    private final long sales;
+    private final long users;
+
+    public SyntheticDataGenerator(DataSource dataSource,
+                                  PricingService pricingService,
+                                  SalesTotalsService salesTotalsService,
+                                  VehicleService vehicleService,
+                                  @Value("${seed.random-seed:42}") long randomSeed,
+                                  @Value("${seed.threads:4}") int threads,
+                                  @Value("${seed.batch-size:1000}") int batchSize,
+                                  @Value("${seed.vehicles:0}") String vehicles,
+                                  @Value("${seed.sales:0}") String sales,
+                                  @Value("${seed.users:0}") String users) {
+        this.dataSource = dataSource;
+        this.pricingService = pricingService;
+        this.salesTotalsService = salesTotalsService;
+        this.vehicleService = vehicleService;
+        this.randomSeed = randomSeed;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.vehicles = parseCount(vehicles);
+        this.sales = parseCount(sales);
+        this.users = parseCount(users);
+    }
+
+    /**
+     * Gera a massa pedida em {@code seed.vehicles} e {@code seed.sales}, a menos que o banco
+     * já tenha ao menos essa quantidade de veículos (execuções anteriores do gerador).
+     *
+     * @param existingVehicles Veículos já gravados
+     */
+    public void generateIfRequested(long existingVehicles) throws Exception {
+        if (vehicles == 0) {
+            return;
+        }
+        if (existingVehicles >= vehicles) {
+            log.info("Banco já possui {} veículos. Geração sintética não executada.", existingVehicles);
+            return;
+        }
+        log.info("=== Gerando {} veículos e {} vendas sintéticos (semente {}, {} threads) ===",
+                vehicles, sales, randomSeed, threads);
+        generate(vehicles, sales);
+        log.info("=== Massa sintética gerada com sucesso ===");
+    }
+
+    /**
+     * Grava os veículos e as vendas sintéticos e recalcula os totais de vendas.
+     *
+     * @param vehicles Quantidade de veículos
+     * @param sales Quantidade de vendas (exige veículos gerados na mesma execução)
+     * @return ID do primeiro veículo gerado (os demais são consecutivos)
+     */
+    public long generate(long vehicles, long sales) throws Exception {
+        if (sales > 0 && vehicles == 0) {
+            throw new IllegalArgumentException("seed.sales exige seed.vehicles maior que zero");
+        }
+        long firstVehicleId = reserveIds("vehicle", vehicles);
+        insert("veículos", "INSERT INTO vehicle (id, year, base_price, color, model, available) VALUES (?, ?, ?, ?, ?, ?)",
+                vehicles, (statement, index) -> {
+                    Vehicle vehicle = vehicle(index);
+                    statement.setLong(1, firstVehicleId + index);
+                    statement.setInt(2, vehicle.getYear());
+                    statement.setDouble(3, vehicle.getBasePrice());
+                    statement.setString(4, vehicle.getColor());
+                    statement.setString(5, vehicle.getModel());
+                    statement.setBoolean(6, vehicle.getAvailable());
+                });
+
+        if (sales > 0) {
+            long firstSaleId = reserveIds("sale", sales);
+            LocalDateTime today = LocalDate.now().atStartOfDay();
+            insert("vendas", "INSERT INTO sale (id, type, client, seller, vehicle_id, date, price, client_type) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    sales, (statement, index) -> {
+                        SplittableRandom random = random(SALE_STREAM, index);
+                        long vehicleIndex = vehicles >= SOLD_EVERY
+                                ? random.nextLong(vehicles / SOLD_EVERY) * SOLD_EVERY + SOLD_EVERY - 1
+                                : random.nextLong(vehicles);
+                        String client;
+                        boolean vip;
+                        if (users > 1) {
+                            long clientIndex = random.nextLong(users);
+                            if (isSeller(clientIndex)) {
+                                clientIndex = clientIndex + 1 < users ? clientIndex + 1 : clientIndex - 1;
+                            }
+                            client = document(clientIndex);
+                            vip = isVip(clientIndex);
+                        } else {
+                            int fixed = random.nextInt(DEFAULT_CLIENTS.length);
+                            client = DEFAULT_CLIENTS[fixed];
+                            vip = fixed == 1;
+                        }
+                        String seller = users > 0
+                                ? username(random.nextLong((users + 99) / 100) * 100)
+                                : DEFAULT_SELLER;
+                        String clientType = vip ? "VIP" : "COMUM";
+                        statement.setLong(1, firstSaleId + index);
+                        statement.setString(2, random.nextInt(10) < 7 ? "VENDA" : "COMPRA");
+                        statement.setString(3, client);
+                        statement.setString(4, seller);
+                        statement.setLong(5, firstVehicleId + vehicleIndex);
+                        statement.setTimestamp(6, Timestamp.valueOf(today.minusSeconds(random.nextLong(HISTORY_DAYS * 86_400L))));
+                        statement.setDouble(7, pricingService.calcularPrecoFinal(vehicle(vehicleIndex), clientType));
+                        statement.setString(8, clientType);
+                    });
+            log.info("Totais de vendas recalculados: {} grupos", salesTotalsService.rebuild());
+        }
+
+        // Os INSERTs não passaram pelo Hibernate: descarta os veículos em cache
+        vehicleService.evictAll();
+        return firstVehicleId;
+    }
+
+    /**
+     * Veículo de um índice: sempre o mesmo para a mesma semente (as vendas recalculam o preço a partir dele).
+     */
+    Vehicle vehicle(long index) {
+        SplittableRandom random = random(VEHICLE_STREAM, index);
+        return new Vehicle(null, 2015 + random.nextInt(11), 50_000 + random.nextInt(3_000) * 100.0,
+                COLORS[random.nextInt(COLORS.length)], MODELS[random.nextInt(MODELS.length)],
+                index % SOLD_EVERY != SOLD_EVERY - 1);
+    }
+
+    // Regras por índice compartilhadas com o gerador de usuários do user-service
+    static String document(long index) {
+        return String.format("%03d.%03d.%03d-%02d", 500 + index / 1_000_000, index / 1_000 % 1_000, index % 1_000, index % 100);
+    }
+
+    static String username(long index) {
+        return "usuario" + index + "@email.com";
+    }
+
+    static boolean isSeller(long index) {
+        return index % 100 == 0;
+    }
+
+    static boolean isVip(long index) {
+        return !isSeller(index) && index % 5 == 1;
+    }
+
+    /**
+     * Converte quantidades como "1_000_000" (o Spring não aceita o separador em números).
+     */
+    static long parseCount(String value) {
+        return value == null || value.isBlank() ? 0 : Long.parseLong(value.replace("_", "").trim());
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(randomSeed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    /**
+     * Reserva na sequência da tabela um intervalo de IDs consecutivos, depois do maior ID gravado
+     * e de qualquer bloco já entregue ao Hibernate (a sequência avança de 50 em 50).
+     *
+     * @return Primeiro ID do intervalo
+     */
+    private long reserveIds(String table, long count) throws SQLException {
+        String sequence = table + "_seq";
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            long first = Math.max(queryLong(statement, "SELECT nextval('" + sequence + "')"),
+                    queryLong(statement, "SELECT COALESCE(MAX(id), 0) FROM " + table)) + 1;
+            // Mesmo alinhamento da migração V3: o próximo bloco do Hibernate começa depois do intervalo
+            long last = first + count - 1;
+            if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                queryLong(statement, "SELECT setval('" + sequence + "', " + (last + 50) + ")");
+            } else {
+                statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (last + 100));
+            }
+            return first;
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    // Divide as linhas em blocos paralelos; cada bloco grava em lotes JDBC e faz um único commit
+    private void insert(String label, String sql, long count, RowWriter writer) throws Exception {
+        long start = System.nanoTime();
+        long chunkSize = (long) batchSize * 20;
+        AtomicLong written = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long from = 0; from < count; from += chunkSize) {
+                long chunkStart = from;
+                long chunkEnd = Math.min(from + chunkSize, count);
+                chunks.add(pool.submit(() -> {
+                    try (Connection connection = dataSource.getConnection();
+                         PreparedStatement statement = connection.prepareStatement(sql)) {
+                        connection.setAutoCommit(false);
+                        for (long index = chunkStart; index < chunkEnd; index++) {
+                            writer.write(statement, index);
+                            statement.addBatch();
+                            if ((index - chunkStart + 1) % batchSize == 0) {
+                                statement.executeBatch();
+                            }
+                        }
+                        statement.executeBatch();
+                        connection.commit();
+                    }
+                    long total = written.addAndGet(chunkEnd - chunkStart);
+                    log.info("{}: {} de {} gravados", label, total, count);
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("{} {} gerados em {}s ({} por segundo)", count, label, String.format("%.1f", seconds),
+                Math.round(count / Math.max(seconds, 0.001)));
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement statement, long index) throws SQLException;
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.context.annotation.Configuration;
 public class VehicleDataSeeder {
 
     private final VehicleRepository vehicleRepository;
+    private final SyntheticDataGenerator syntheticDataGenerator;
 
     @Bean
     public CommandLineRunner seedVehicleDatabase() {
@@ -25,6 +26,8 @@ public class VehicleDataSeeder {
             } else {
                 log.info("Banco já possui veículos. Seed não executado.");
             }
+            // Massa sintética opcional (--seed.vehicles=... --seed.sales=...)
+            syntheticDataGenerator.generateIfRequested(vehicleRepository.count());
         };
     }
 
@@ -1,42 +1,72 @@
 package br.com.concessionaria.carsservice.controller;
 
+import br.com.concessionaria.carsservice.dto.CacheUsage;
+import br.com.concessionaria.carsservice.dto.CartCleanupResult;
+import br.com.concessionaria.carsservice.dto.CartExpiryStats;
 import br.com.concessionaria.carsservice.service.CartExpirationService;
+import br.com.concessionaria.carsservice.service.SalesTotalsService;
+import br.com.concessionaria.carsservice.service.VehicleService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/admin")
+@Slf4j
 public class AdminController {
     
     @Autowired
     private CartExpirationService cartExpirationService;
     
+    @Autowired
+    private SalesTotalsService salesTotalsService;
+    
+    @Autowired
+    private VehicleService vehicleService;
+    
     @PostMapping("/clean-expired-carts")
-    public ResponseEntity<String> cleanExpiredCarts() {
+    public ResponseEntity<?> cleanExpiredCarts() {
         try {
-            int cleanedCount = cartExpirationService.cleanExpiredCartsManually();
-            
-            String message = String.format("✅ Limpeza manual concluída com sucesso! %d carrinhos expirados foram removidos.", cleanedCount);
+            CartCleanupResult result = cartExpirationService.cleanExpiredCartsManually();
             
-            System.out.println("🔧 " + message);
+            log.info("Limpeza manual concluída: {} carrinhos expirados removidos e {} veículos liberados",
+                    result.getDeletedCarts(), result.getReleasedVehicles());
             
-            return ResponseEntity.ok(message);
+            return ResponseEntity.ok(result);
             
         } catch (Exception e) {
             String errorMessage = "❌ Erro na limpeza manual de carrinhos: " + e.getMessage();
-            System.err.println(errorMessage);
-            e.printStackTrace();
+            log.error("Erro na limpeza manual de carrinhos", e);
             
             return ResponseEntity.internalServerError().body(errorMessage);
         }
     }
     
+    @PostMapping("/rebuild-sales-totals")
+    public ResponseEntity<String> rebuildSalesTotals() {
+        int groups = salesTotalsService.rebuild();
+        return ResponseEntity.ok(String.format("Totais de vendas recalculados: %d grupos", groups));
+    }
+    
+    @GetMapping("/cart-expiry-stats")
+    public ResponseEntity<CartExpiryStats> getCartExpiryStats() {
+        return ResponseEntity.ok(cartExpirationService.getStats());
+    }
+    
+    @GetMapping("/vehicle-cache-stats")
+    public ResponseEntity<List<CacheUsage>> getVehicleCacheStats() {
+        return ResponseEntity.ok(vehicleService.getCacheStats());
+    }
+    
     @GetMapping("/cleanup-status")
     public ResponseEntity<String> getCleanupStatus() {
         String status = "🔄 Sistema de limpeza automática ATIVO\n" +
-                       "⏰ Frequência: A cada 60 segundos\n" +
+                       "⏰ Frequência: A cada 1 segundo (fila de prazos em memória)\n" +
                        "🕐 Tempo de expiração: 1 minuto após adição ao carrinho\n" +
+                       "🧹 Varredura em lotes entre réplicas (SKIP LOCKED) como reforço\n" +
                        "🚀 Para limpeza manual: POST /admin/clean-expired-carts";
                        
         return ResponseEntity.ok(status);
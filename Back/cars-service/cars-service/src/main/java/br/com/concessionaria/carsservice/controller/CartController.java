@@ -1,18 +1,25 @@
 package br.com.concessionaria.carsservice.controller;
 
+import br.com.concessionaria.carsservice.client.UserServiceUnavailableException;
+import br.com.concessionaria.carsservice.dto.CartResponse;
+import br.com.concessionaria.carsservice.dto.CheckoutResult;
 import br.com.concessionaria.carsservice.model.Cart;
-import br.com.concessionaria.carsservice.model.Vehicle;
-import br.com.concessionaria.carsservice.model.Sale;
 import br.com.concessionaria.carsservice.service.CartService;
-import br.com.concessionaria.carsservice.service.VehicleService;
-import br.com.concessionaria.carsservice.service.SaleService;
+import br.com.concessionaria.carsservice.service.CheckoutService;
+import br.com.concessionaria.carsservice.service.IdempotencyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/cart")
@@ -20,28 +27,25 @@ public class CartController {
     @Autowired
     private CartService cartService;
     @Autowired
-    private VehicleService vehicleService;
+    private CheckoutService checkoutService;
     @Autowired
-    private SaleService saleService;
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @PostMapping
     public ResponseEntity<?> addToCart(@RequestParam Long vehicleId, @RequestParam String client) {
-        Optional<Vehicle> vehicleOpt = vehicleService.findById(vehicleId);
-        if (vehicleOpt.isEmpty() || !vehicleOpt.get().getAvailable()) {
-            return ResponseEntity.badRequest().body("Veículo não disponível");
-        }
-        
-        Optional<Cart> existingCart = cartService.findByClientAndVehicleId(client, vehicleId);
-        if (existingCart.isPresent()) {
-            return ResponseEntity.badRequest().body("Veículo já está no carrinho");
-        }
-        
-        Vehicle vehicle = vehicleOpt.get();
-        vehicle.setAvailable(false);
-        vehicleService.save(vehicle);
-        
-        Cart cart = new Cart(null, vehicle, client, LocalDateTime.now());
-        return ResponseEntity.ok(cartService.save(cart));
+        return timed("cars.cart.add", () -> {
+            if (cartService.existsByClientAndVehicleId(client, vehicleId)) {
+                return ResponseEntity.badRequest().body("Veículo já está no carrinho");
+            }
+            
+            Optional<Cart> cart = cartService.reserveVehicle(vehicleId, client);
+            if (cart.isEmpty()) {
+                return ResponseEntity.badRequest().body("Veículo não disponível");
+            }
+            return ResponseEntity.ok(CartResponse.from(cart.get()));
+        });
     }
 
     @GetMapping("/{id}")
@@ -50,7 +54,7 @@ public class CartController {
         if (cartOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(cartOpt.get());
+        return ResponseEntity.ok(CartResponse.from(cartOpt.get()));
     }
 
     @GetMapping("/active/{client}")
@@ -59,116 +63,110 @@ public class CartController {
         if (cartItems.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(cartItems);
-    }
-
-    private double calcularPrecoFinal(Vehicle vehicle, String clientType) {
-        double preco = vehicle.getBasePrice();
-        if ("branco".equalsIgnoreCase(vehicle.getColor())) {
-            preco *= 0.95;
-        }
-        if ("VIP".equalsIgnoreCase(clientType)) {
-            preco *= 0.90;
-        }
-        return preco;
+        return ResponseEntity.ok(cartItems.stream().map(CartResponse::from).toList());
     }
 
     @PostMapping("/{id}/checkout")
-    public ResponseEntity<?> checkout(@PathVariable Long id, @RequestParam String seller, @RequestParam String type, @RequestParam(defaultValue = "COMUM") String clientType) {
-        Optional<Cart> cartOpt = cartService.findById(id);
-        if (cartOpt.isEmpty()) return ResponseEntity.notFound().build();
-        Cart cart = cartOpt.get();
-        
-        if (cart.getAddedAt().plusMinutes(1).isBefore(LocalDateTime.now())) {
-            Vehicle expiredVehicle = cart.getVehicle();
-            expiredVehicle.setAvailable(true);
-            vehicleService.save(expiredVehicle);
-            
-            cartService.deleteById(id);
-            return ResponseEntity.badRequest().body("Tempo de reserva expirado (1 minuto)");
+    public ResponseEntity<?> checkout(@PathVariable Long id, @RequestParam String seller, @RequestParam String type,
+                                      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (!idempotencyService.isValidKey(idempotencyKey)) {
+            return ResponseEntity.badRequest().body("Idempotency-Key inválido");
         }
         
-        Vehicle vehicle = cart.getVehicle();
-        
-        vehicle.setAvailable(false);
-        vehicleService.save(vehicle);
-        
-        double precoFinal = calcularPrecoFinal(vehicle, clientType);
-        
-        Sale sale = new Sale(null, type, cart.getClient(), seller, vehicle, LocalDateTime.now());
-        saleService.save(sale);
-        cartService.deleteById(id);
-        
-        return ResponseEntity.ok("Venda realizada. Preço final: R$ " + precoFinal);
+        return timed("cars.checkout", executed -> {
+            // Consulta ao user-service antes de qualquer transação (inclusive a do Idempotency-Key)
+            Map<String, String> clientTypes = checkoutService.clientTypesOfCart(id);
+            return idempotencyService.execute("checkout", idempotencyKey, id + "|" + seller + "|" + type, () -> {
+                executed.run();
+                Optional<CheckoutResult> result = checkoutService.checkout(id, seller, type, clientTypes);
+                if (result.isEmpty()) return ResponseEntity.notFound().build();
+                if (result.get().getLockedCarts() > 0) return cartLocked();
+                
+                if (result.get().getSoldVehicles() == 0) {
+                    return ResponseEntity.badRequest().body("Tempo de reserva expirado (1 minuto)");
+                }
+                
+                return ResponseEntity.ok("Venda realizada. Preço final: R$ " + result.get().getTotal());
+            });
+        });
     }
     
     @PostMapping("/checkout-all/{client}")
-    public ResponseEntity<?> checkoutAll(@PathVariable String client, @RequestParam String seller, @RequestParam String type, @RequestParam(defaultValue = "COMUM") String clientType) {
-        List<Cart> cartItems = cartService.findByClient(client);
-        if (cartItems.isEmpty()) {
-            return ResponseEntity.badRequest().body("Carrinho vazio");
+    public ResponseEntity<?> checkoutAll(@PathVariable String client, @RequestParam String seller, @RequestParam String type,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (!idempotencyService.isValidKey(idempotencyKey)) {
+            return ResponseEntity.badRequest().body("Idempotency-Key inválido");
         }
         
-        double totalFinal = 0;
-        int vendidosComSucesso = 0;
-        
-        for (Cart cart : cartItems) {
-            if (cart.getAddedAt().plusMinutes(1).isBefore(LocalDateTime.now())) {
-                Vehicle expiredVehicle = cart.getVehicle();
-                expiredVehicle.setAvailable(true);
-                vehicleService.save(expiredVehicle);
+        return timed("cars.checkout.all", executed -> {
+            Map<String, String> clientTypes = checkoutService.clientTypesOfClient(client);
+            return idempotencyService.execute("checkout-all", idempotencyKey, client + "|" + seller + "|" + type, () -> {
+                executed.run();
+                CheckoutResult result = checkoutService.checkoutAll(client, seller, type, clientTypes);
+                if (result.getLockedCarts() > 0) return cartLocked();
+                if (result.getSoldVehicles() == 0 && result.getExpiredCarts() == 0) {
+                    return ResponseEntity.badRequest().body("Carrinho vazio");
+                }
                 
-                cartService.deleteById(cart.getId());
-                continue;
+                return ResponseEntity.ok("Venda realizada para " + result.getSoldVehicles() + " veículos. Total: R$ " + result.getTotal());
+            });
+        });
+    }
+
+    // Itens em processamento por outra requisição: 409 não é gravado no Idempotency-Key,
+    // então a retentativa com a mesma chave executa o checkout de novo
+    private static ResponseEntity<?> cartLocked() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Carrinho em processamento por outra requisição. Tente novamente.");
+    }
+
+    // Mede a operação com um timer por status da resposta
+    private ResponseEntity<?> timed(String metric, Supplier<ResponseEntity<?>> operation) {
+        return timed(metric, executed -> {
+            executed.run();
+            return operation.get();
+        });
+    }
+
+    // Mede a requisição inteira, incluindo a consulta ao user-service e o commit da transação
+    // do Idempotency-Key. A operação chama executed quando de fato executa: respostas apenas
+    // repetidas pelo Idempotency-Key (ou recusadas por ele) não entram na medição; falhas sempre entram
+    private ResponseEntity<?> timed(String metric, Function<Runnable, ResponseEntity<?>> operation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AtomicBoolean executed = new AtomicBoolean();
+        String status = "error";
+        try {
+            ResponseEntity<?> response = operation.apply(() -> executed.set(true));
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } catch (RuntimeException e) {
+            executed.set(true);
+            throw e;
+        } finally {
+            if (executed.get()) {
+                sample.stop(meterRegistry.timer(metric, "status", status));
             }
-            
-            Vehicle vehicle = cart.getVehicle();
-            
-            vehicle.setAvailable(false);
-            vehicleService.save(vehicle);
-            
-            double precoFinal = calcularPrecoFinal(vehicle, clientType);
-            totalFinal += precoFinal;
-            
-            Sale sale = new Sale(null, type, client, seller, vehicle, LocalDateTime.now());
-            saleService.save(sale);
-            cartService.deleteById(cart.getId());
-            
-            vendidosComSucesso++;
         }
-        
-        return ResponseEntity.ok("Venda realizada para " + vendidosComSucesso + " veículos. Total: R$ " + totalFinal);
+    }
+
+    // O tipo do cliente (VIP) é consultado no user-service; sem ele o preço não pode ser calculado
+    @ExceptionHandler(UserServiceUnavailableException.class)
+    public ResponseEntity<?> handleUserServiceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Serviço de usuários indisponível. Tente novamente.");
     }
 
     @PostMapping("/{id}/cancel")
     public ResponseEntity<?> cancel(@PathVariable Long id) {
-        Optional<Cart> cartOpt = cartService.findById(id);
-        if (cartOpt.isEmpty()) return ResponseEntity.notFound().build();
-        
-        Cart cart = cartOpt.get();
-        Vehicle vehicle = cart.getVehicle();
-        vehicle.setAvailable(true);
-        vehicleService.save(vehicle);
+        if (!cartService.cancel(id)) return ResponseEntity.notFound().build();
         
-        cartService.deleteById(id);
         return ResponseEntity.ok("Item removido do carrinho");
     }
     
     @PostMapping("/clear/{client}")
     public ResponseEntity<?> clearCart(@PathVariable String client) {
-        List<Cart> cartItems = cartService.findByClient(client);
-        if (cartItems.isEmpty()) {
+        if (cartService.clear(client) == 0) {
             return ResponseEntity.badRequest().body("Carrinho já está vazio");
         }
         
-        for (Cart cart : cartItems) {
-            Vehicle vehicle = cart.getVehicle();
-            vehicle.setAvailable(true);
-            vehicleService.save(vehicle);
-            
-            cartService.deleteById(cart.getId());
-        }
-        
         return ResponseEntity.ok("Carrinho limpo com sucesso");
     }
 }
@@ -1,10 +1,27 @@
 package br.com.concessionaria.carsservice.controller;
 
+import br.com.concessionaria.carsservice.dto.KeysetPage;
+import br.com.concessionaria.carsservice.dto.SaleFilter;
+import br.com.concessionaria.carsservice.dto.SaleResponse;
+import br.com.concessionaria.carsservice.dto.SalesAggregate;
+import br.com.concessionaria.carsservice.dto.SalesGrouping;
 import br.com.concessionaria.carsservice.model.Sale;
 import br.com.concessionaria.carsservice.service.SaleService;
+import br.com.concessionaria.carsservice.service.SalesTotalsService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -12,9 +29,71 @@ import java.util.List;
 public class SaleController {
     @Autowired
     private SaleService saleService;
+    @Autowired
+    private SalesTotalsService salesTotalsService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @GetMapping
-    public List<Sale> getAllSales() {
-        return saleService.findAll();
+    public List<SaleResponse> getAllSales() {
+        return saleService.findAll().stream().map(SaleResponse::from).toList();
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<SaleResponse>> getSalesPage(SaleFilter filter,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            KeysetPage<Sale> page = saleService.findPage(filter, cursor, size);
+            return ResponseEntity.ok(new KeysetPage<>(page.getItems().stream().map(SaleResponse::from).toList(),
+                    page.getNextCursor(), page.getTotal()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportSales(SaleFilter filter) {
+        // Cada venda é escrita em uma linha JSON assim que chega do banco
+        ObjectWriter writer = objectMapper.writerFor(SaleResponse.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = out -> saleService.forEachSale(filter, sale -> {
+            try {
+                writer.writeValue(out, SaleResponse.from(sale));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @GetMapping("/reports")
+    public ResponseEntity<List<SalesAggregate>> getReport(@RequestParam SalesGrouping groupBy,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(saleService.report(groupBy, start, end));
+    }
+
+    @GetMapping("/totals")
+    public List<SalesAggregate> getTotals(@RequestParam SalesGrouping groupBy) {
+        return salesTotalsService.findTotals(groupBy);
+    }
+
+    @GetMapping("/totals/{groupBy}/{key}")
+    public ResponseEntity<SalesAggregate> getTotal(@PathVariable SalesGrouping groupBy, @PathVariable String key) {
+        return salesTotalsService.findTotal(groupBy, key)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 }
@@ -1,8 +1,11 @@
 package br.com.concessionaria.carsservice.controller;
 
+import br.com.concessionaria.carsservice.dto.KeysetPage;
+import br.com.concessionaria.carsservice.dto.VehicleFilter;
 import br.com.concessionaria.carsservice.model.Vehicle;
 import br.com.concessionaria.carsservice.service.VehicleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,22 +16,42 @@ import java.util.Optional;
 @RequestMapping("/vehicles")
 public class VehicleController {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    // Cursor para continuar em /vehicles/page quando a lista completa foi cortada
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     @Autowired
     private VehicleService vehicleService;
 
+    @Value("${cars.vehicles.list-limit:500}")
+    private int listLimit;
+
+    /**
+     * Lista de veículos disponíveis mantida por compatibilidade com as telas do frontend,
+     * que filtram a lista inteira no navegador. A resposta é limitada a {@code cars.vehicles.list-limit}
+     * veículos (ordem de ID); quando há mais, o cabeçalho {@value #NEXT_CURSOR_HEADER} traz o cursor
+     * para continuar em {@code /vehicles/page}, que é o endpoint indicado para catálogos grandes.
+     */
     @GetMapping
-    public List<Vehicle> getAllAvailable() {
-        List<Vehicle> vehicles = vehicleService.findAll();
-        
-        if (vehicles == null) {
-            return List.of();
+    public ResponseEntity<List<Vehicle>> getAllAvailable() {
+        KeysetPage<Vehicle> page = vehicleService.findAvailablePage(new VehicleFilter(), null, listLimit, false);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
         }
-        
-        return vehicles.stream()
-                .filter(vehicle -> vehicle != null && 
-                         vehicle.getAvailable() != null && 
-                         vehicle.getAvailable())
-                .toList();
+        return response.body(page.getItems());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Vehicle>> getAvailablePage(VehicleFilter filter,
+                                                                @RequestParam(required = false) Long cursor,
+                                                                @RequestParam(defaultValue = "20") int size,
+                                                                @RequestParam(defaultValue = "true") boolean includeTotal) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(vehicleService.findAvailablePage(filter, cursor, size, includeTotal));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,57 @@
+package br.com.concessionaria.carsservice.dto;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Uso de um cache em memória desta instância do serviço, desde a inicialização.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheUsage {
+
+    /**
+     * Nome do cache.
+     */
+    private String name;
+
+    /**
+     * Quantidade aproximada de entradas no cache.
+     */
+    private long size;
+
+    /**
+     * Leituras atendidas pelo cache.
+     */
+    private long hits;
+
+    /**
+     * Leituras que precisaram consultar o banco.
+     */
+    private long misses;
+
+    /**
+     * Proporção de leituras atendidas pelo cache (entre 0 e 1).
+     */
+    private double hitRate;
+
+    /**
+     * Entradas descartadas por limite de tamanho ou por TTL.
+     */
+    private long evictions;
+
+    /**
+     * Invalidações disparadas por alterações nos dados.
+     */
+    private long invalidations;
+
+    public static CacheUsage of(String name, Cache<?, ?> cache, long invalidations) {
+        CacheStats stats = cache.stats();
+        return new CacheUsage(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount(), invalidations);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.concessionaria.carsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de uma limpeza de carrinhos expirados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartCleanupResult {
+
+    /**
+     * Quantidade de veículos que voltaram a ficar disponíveis.
+     */
+    private int releasedVehicles;
+
+    /**
+     * Quantidade de carrinhos removidos.
+     */
+    private int deletedCarts;
+}
@@ -0,0 +1,40 @@
+package br.com.concessionaria.carsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estatísticas da expiração de carrinhos nesta instância do serviço.
+ * Cada réplica reporta apenas o trabalho que ela mesma reivindicou.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartExpiryStats {
+
+    /**
+     * Identificação da instância (réplica) do serviço.
+     */
+    private String nodeId;
+
+    /**
+     * Carrinhos com prazo agendado na fila em memória desta instância.
+     */
+    private int pendingDeadlines;
+
+    /**
+     * Carrinhos expirados a partir da fila de prazos em memória.
+     */
+    private long expiredFromQueue;
+
+    /**
+     * Carrinhos expirados pela varredura em lotes no banco.
+     */
+    private long expiredFromSweep;
+
+    /**
+     * Quantidade de lotes reivindicados pela varredura.
+     */
+    private long sweepBatches;
+}
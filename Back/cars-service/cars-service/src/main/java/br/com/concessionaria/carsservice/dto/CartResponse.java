@@ -0,0 +1,31 @@
+package br.com.concessionaria.carsservice.dto;
+
+import br.com.concessionaria.carsservice.model.Cart;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item do carrinho retornado pela API.
+ * Mantém o mesmo formato JSON da entidade, mas é montado a partir de dados já carregados,
+ * então a serialização nunca dispara consultas extras.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartResponse {
+
+    private Long id;
+
+    private VehicleResponse vehicle;
+
+    private String client;
+
+    private LocalDateTime addedAt;
+
+    public static CartResponse from(Cart cart) {
+        return new CartResponse(cart.getId(), VehicleResponse.from(cart.getVehicle()), cart.getClient(), cart.getAddedAt());
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.concessionaria.carsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um checkout de carrinho.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutResult {
+
+    /**
+     * Quantidade de veículos vendidos.
+     */
+    private int soldVehicles;
+
+    /**
+     * Quantidade de itens descartados porque a reserva já havia expirado.
+     */
+    private int expiredCarts;
+
+    /**
+     * Soma dos preços finais dos veículos vendidos.
+     */
+    private double total;
+
+    /**
+     * Quantidade de itens bloqueados por outra requisição (checkout simultâneo ou expiração).
+     * Quando maior que zero, nada foi gravado e o checkout pode ser repetido.
+     */
+    private int lockedCarts;
+}
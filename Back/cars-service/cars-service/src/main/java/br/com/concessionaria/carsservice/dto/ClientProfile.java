@@ -0,0 +1,38 @@
+package br.com.concessionaria.carsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dados do cliente consultados no user-service para o cálculo de preço.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientProfile {
+
+    /**
+     * Documento (CPF) do cliente, o mesmo usado como identificação no carrinho.
+     */
+    private String document;
+
+    /**
+     * Indica se o cliente tem desconto VIP.
+     */
+    private Boolean vip;
+
+    /**
+     * Perfil do usuário no user-service; nulo quando o documento não está cadastrado.
+     */
+    private String profile;
+
+    /**
+     * Tipo do cliente usado na precificação e nos relatórios ("VIP" ou "COMUM").
+     *
+     * @return "VIP" se o cliente for VIP, senão "COMUM"
+     */
+    public String clientType() {
+        return Boolean.TRUE.equals(vip) ? "VIP" : "COMUM";
+    }
+}
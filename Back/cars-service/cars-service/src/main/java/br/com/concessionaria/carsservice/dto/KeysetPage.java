@@ -0,0 +1,37 @@
+package br.com.concessionaria.carsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados paginada por cursor (keyset).
+ * Em vez de OFFSET, o cliente envia de volta o {@code nextCursor} recebido
+ * para buscar a próxima página, mantendo o custo constante mesmo em páginas profundas.
+ *
+ * @param <T> Tipo dos itens retornados
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    /**
+     * Itens da página atual, já na ordem do cursor.
+     */
+    private List<T> items;
+
+    /**
+     * Cursor para buscar a próxima página.
+     * Nulo quando não existem mais resultados.
+     */
+    private String nextCursor;
+
+    /**
+     * Total de registros que atendem aos filtros.
+     * Nulo quando a contagem não foi solicitada (evita um COUNT por requisição).
+     */
+    private Long total;
+}
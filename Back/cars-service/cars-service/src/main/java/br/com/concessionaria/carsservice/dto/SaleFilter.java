@@ -0,0 +1,25 @@
+package br.com.concessionaria.carsservice.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionais da listagem de vendas.
+ * Preenchido automaticamente a partir dos parâmetros da requisição
+ * (ex: {@code /sales/page?seller=ana&from=2025-01-01}).
+ */
+@Data
+public class SaleFilter {
+    private String seller;
+    private String client;
+
+    // Primeiro dia do período (inclusive)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    // Último dia do período (inclusive)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+}
@@ -0,0 +1,39 @@
+package br.com.concessionaria.carsservice.dto;
+
+import br.com.concessionaria.carsservice.model.Sale;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Venda retornada pela API (listagem, páginas e exportação).
+ * Mantém o mesmo formato JSON da entidade; o veículo precisa vir carregado pela consulta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleResponse {
+
+    private Long id;
+
+    private String type;
+
+    private String client;
+
+    private String seller;
+
+    private VehicleResponse vehicle;
+
+    private LocalDateTime date;
+
+    private Double price;
+
+    private String clientType;
+
+    public static SaleResponse from(Sale sale) {
+        return new SaleResponse(sale.getId(), sale.getType(), sale.getClient(), sale.getSeller(),
+                VehicleResponse.from(sale.getVehicle()), sale.getDate(), sale.getPrice(), sale.getClientType());
+    }
+}
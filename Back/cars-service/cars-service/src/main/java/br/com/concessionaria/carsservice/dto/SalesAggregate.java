@@ -0,0 +1,29 @@
+package br.com.concessionaria.carsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha de um relatório de vendas agregado (ex: total de um vendedor ou de um mês).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesAggregate {
+
+    /**
+     * Valor do agrupamento: vendedor, modelo, dia (yyyy-MM-dd), mês (yyyy-MM) ou tipo de cliente.
+     */
+    private String key;
+
+    /**
+     * Quantidade de vendas no grupo.
+     */
+    private Long count;
+
+    /**
+     * Faturamento do grupo em reais.
+     */
+    private Double revenue;
+}
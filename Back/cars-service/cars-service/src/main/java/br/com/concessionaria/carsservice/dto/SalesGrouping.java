@@ -0,0 +1,12 @@
+package br.com.concessionaria.carsservice.dto;
+
+/**
+ * Agrupamentos disponíveis no relatório de vendas.
+ */
+public enum SalesGrouping {
+    SELLER,
+    MODEL,
+    DAY,
+    MONTH,
+    CLIENT_TYPE
+}
@@ -0,0 +1,17 @@
+package br.com.concessionaria.carsservice.dto;
+
+import lombok.Data;
+
+/**
+ * Filtros opcionais do catálogo de veículos.
+ * Preenchido automaticamente a partir dos parâmetros da requisição
+ * (ex: {@code /vehicles/page?model=Civic&minPrice=100000}).
+ */
+@Data
+public class VehicleFilter {
+    private String model;
+    private String color;
+    private Integer year;
+    private Double minPrice;
+    private Double maxPrice;
+}
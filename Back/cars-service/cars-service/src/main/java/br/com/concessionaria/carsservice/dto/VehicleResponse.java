@@ -0,0 +1,32 @@
+package br.com.concessionaria.carsservice.dto;
+
+import br.com.concessionaria.carsservice.model.Vehicle;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dados do veículo incluídos nas respostas de carrinho e de vendas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleResponse {
+
+    private Long id;
+
+    private Integer year;
+
+    private Double basePrice;
+
+    private String color;
+
+    private String model;
+
+    private Boolean available;
+
+    public static VehicleResponse from(Vehicle vehicle) {
+        return new VehicleResponse(vehicle.getId(), vehicle.getYear(), vehicle.getBasePrice(),
+                vehicle.getColor(), vehicle.getModel(), vehicle.getAvailable());
+    }
+}
@@ -16,14 +16,19 @@ import java.time.LocalDateTime;
 @Data // Lombok: gera getters, setters, equals, hashCode e toString automaticamente
 @NoArgsConstructor // Lombok: gera construtor sem argumentos (necessário para JPA)
 @AllArgsConstructor // Lombok: gera construtor com todos os argumentos
+@Table(indexes = {
+        @Index(name = "idx_cart_added_at", columnList = "addedAt"), // Índice usado pela expiração em lote
+        @Index(name = "idx_cart_client_vehicle", columnList = "client, vehicle_id") // Carrinho do cliente e item duplicado
+})
 public class Cart {
     
     /**
      * Identificador único do item no carrinho.
-     * Gerado automaticamente pelo banco de dados.
+     * Gerado a partir de uma sequência do banco de dados.
      */
     @Id // Define como chave primária da entidade
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremento do ID
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq") // Sequência com blocos de IDs (permite INSERT em lote)
+    @SequenceGenerator(name = "cart_seq", sequenceName = "cart_seq", allocationSize = 50)
     private Long id;
     
     /**
@@ -31,7 +36,7 @@ public class Cart {
      * Relacionamento muitos-para-um: um veículo pode estar em vários carrinhos,
      * mas cada item do carrinho se refere a apenas um veículo.
      */
-    @ManyToOne // Define relacionamento muitos-para-um com Vehicle
+    @ManyToOne(fetch = FetchType.LAZY) // Muitos-para-um com Vehicle, carregado só quando a consulta pede (EntityGraph/JOIN FETCH)
     @JoinColumn(name = "vehicle_id") // Nome da coluna de chave estrangeira no banco
     private Vehicle vehicle;
     
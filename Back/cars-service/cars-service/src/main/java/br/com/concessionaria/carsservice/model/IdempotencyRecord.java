@@ -0,0 +1,52 @@
+package br.com.concessionaria.carsservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta já enviada para uma requisição identificada por um Idempotency-Key.
+ * Quando o cliente repete a mesma requisição (por exemplo, após um timeout),
+ * a resposta gravada é devolvida sem executar a operação novamente.
+ * O registro é criado (sem status) antes da execução, reivindicando a chave para esta requisição.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotency_key", indexes = @Index(name = "idx_idempotency_key_created_at", columnList = "createdAt"))
+public class IdempotencyRecord {
+
+    /**
+     * Chave informada pelo cliente, prefixada pela operação (ex: "checkout-all:abc-123").
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 300)
+    private String key;
+
+    /**
+     * Hash SHA-256 da requisição que usou a chave (operação, parâmetros do caminho e da consulta).
+     */
+    @Column(length = 64)
+    private String fingerprint;
+
+    /**
+     * Código HTTP da resposta original; nulo enquanto a operação está em andamento.
+     */
+    private Integer status;
+
+    /**
+     * Corpo da resposta original.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    /**
+     * Data e hora em que a chave foi reivindicada; identifica a execução dona da chave
+     * e é usada para descartar chaves antigas.
+     */
+    private LocalDateTime createdAt;
+}
@@ -20,14 +20,20 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_sale_date_id", columnList = "date, id"), // Filtros por período e paginação por (data, id)
+        @Index(name = "idx_sale_seller", columnList = "seller") // Filtro por vendedor
+})
 public class Sale {
     
     /**
      * Identificador único da venda.
-     * Gerado automaticamente pelo banco de dados usando estratégia de auto incremento.
+     * Gerado por uma sequência do banco que reserva blocos de 50 IDs por chamada,
+     * o que permite ao Hibernate agrupar vários INSERTs em um único lote JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sale_seq")
+    @SequenceGenerator(name = "sale_seq", sequenceName = "sale_seq", allocationSize = 50)
     private Long id;
     
     /**
@@ -54,7 +60,7 @@ public class Sale {
      * Relacionamento many-to-one com a entidade Vehicle,
      * pois um veículo pode aparecer em múltiplas vendas (histórico).
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY) // Carregado só pelas consultas que precisam do veículo
     @JoinColumn(name = "vehicle_id")
     private Vehicle vehicle;
     
@@ -63,4 +69,17 @@ public class Sale {
      * Registra o timestamp completo da transação para auditoria e relatórios.
      */
     private LocalDateTime date;
+    
+    /**
+     * Preço final cobrado, já com os descontos aplicados.
+     * Permite calcular o faturamento diretamente no banco de dados.
+     * Vendas antigas (anteriores a este campo) ficam nulas e usam o preço base do veículo.
+     */
+    private Double price;
+    
+    /**
+     * Tipo do cliente no momento da venda ("VIP" ou "COMUM").
+     * Usado para agrupar o faturamento por tipo de cliente.
+     */
+    private String clientType;
 }
@@ -0,0 +1,67 @@
+package br.com.concessionaria.carsservice.model;
+
+import br.com.concessionaria.carsservice.dto.SalesGrouping;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Totais de vendas acumulados por grupo (vendedor, modelo, dia, mês ou tipo de cliente).
+ * Atualizados na mesma transação do checkout, permitem que os painéis leiam
+ * os totais diretamente, sem reprocessar a tabela de vendas a cada atualização.
+ * Cada grupo é dividido em faixas (stripe); o total do grupo é a soma das faixas.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sales_total")
+@IdClass(SalesTotal.Key.class)
+public class SalesTotal {
+
+    /**
+     * Critério de agrupamento do total.
+     */
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private SalesGrouping dimension;
+
+    /**
+     * Valor do grupo (ex: nome do vendedor, "2025-03-10", "VIP").
+     */
+    @Id
+    @Column(name = "group_key")
+    private String groupKey;
+
+    /**
+     * Faixa do grupo atualizada pela transação (0 até o número de faixas configurado).
+     */
+    @Id
+    private Integer stripe;
+
+    /**
+     * Quantidade de veículos vendidos na faixa.
+     */
+    private Long units;
+
+    /**
+     * Faturamento acumulado da faixa em reais.
+     */
+    private Double revenue;
+
+    /**
+     * Chave composta (dimensão + grupo + faixa).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private SalesGrouping dimension;
+        private String groupKey;
+        private Integer stripe;
+    }
+}
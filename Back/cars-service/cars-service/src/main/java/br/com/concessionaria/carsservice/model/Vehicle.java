@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidade que representa um veículo disponível na concessionária.
@@ -14,14 +16,18 @@ import lombok.AllArgsConstructor;
 @Data // Lombok: gera getters, setters, equals, hashCode e toString automaticamente
 @NoArgsConstructor // Lombok: gera construtor sem argumentos (necessário para JPA)
 @AllArgsConstructor // Lombok: gera construtor com todos os argumentos
+@Table(indexes = @Index(name = "idx_vehicle_available_model", columnList = "available, model")) // Catálogo de disponíveis por modelo
+@Cacheable // Mantido no cache de segundo nível do Hibernate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vehicle") // Região configurada em application.conf
 public class Vehicle {
     
     /**
      * Identificador único do veículo no sistema.
-     * Gerado automaticamente pelo banco de dados.
+     * Gerado a partir de uma sequência do banco de dados.
      */
     @Id // Define como chave primária da entidade
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremento do ID
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_seq") // Sequência com blocos de IDs (permite INSERT em lote)
+    @SequenceGenerator(name = "vehicle_seq", sequenceName = "vehicle_seq", allocationSize = 50)
     private Long id;
     
     /**
@@ -1,18 +1,89 @@
 package br.com.concessionaria.carsservice.repository;
 
 import br.com.concessionaria.carsservice.model.Cart;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 // Repositório para acesso aos dados de carrinho
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
-    // Busca todos os itens do carrinho de um cliente
+    // Busca todos os itens do carrinho de um cliente, já com os veículos (uma única consulta)
+    @EntityGraph(attributePaths = "vehicle")
     List<Cart> findByClient(String client);
     
-    // Busca um item específico do carrinho por cliente e veículo
-    Optional<Cart> findByClientAndVehicleId(String client, Long vehicleId);
+    // Busca um item do carrinho já com o veículo
+    @EntityGraph(attributePaths = "vehicle")
+    Optional<Cart> findWithVehicleById(Long id);
+    
+    // Cliente dono do carrinho (sem carregar entidades)
+    @Query("SELECT c.client FROM Cart c WHERE c.id = :id")
+    Optional<String> findClientById(@Param("id") Long id);
+    
+    // Verifica se o veículo já está no carrinho do cliente (sem carregar entidades)
+    boolean existsByClientAndVehicleId(String client, Long vehicleId);
+    
+    // Itens do carrinho de um cliente com o ID do veículo reservado (sem carregar entidades)
+    @Query("SELECT c.id AS id, c.vehicle.id AS vehicleId FROM Cart c WHERE c.client = :client")
+    List<CartReservationView> findReservationsByClient(@Param("client") String client);
+    
+    // Itens do carrinho informados com o ID do veículo reservado
+    @Query("SELECT c.id AS id, c.vehicle.id AS vehicleId FROM Cart c WHERE c.id IN :ids")
+    List<CartReservationView> findReservationsByIds(@Param("ids") List<Long> ids);
+    
+    // Busca apenas ID e data de adição de todos os carrinhos (sem carregar veículos)
+    @Query("SELECT c.id AS id, c.addedAt AS addedAt FROM Cart c")
+    List<CartDeadlineView> findAllDeadlines();
+    
+    // Libera os veículos dos carrinhos informados
+    // (nativo, sem invalidar o cache de segundo nível: o chamador descarta os veículos liberados)
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = VehicleRepository.AVAILABILITY_SPACE))
+    @Query(value = "UPDATE vehicle SET available = true WHERE id IN (SELECT vehicle_id FROM cart WHERE id IN (:ids))",
+           nativeQuery = true)
+    int releaseVehiclesOfCarts(@Param("ids") List<Long> ids);
+    
+    // Remove os carrinhos informados
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Cart c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+    
+    /**
+     * Reivindica um lote de carrinhos vencidos, bloqueando as linhas para esta transação.
+     * Com SKIP LOCKED, linhas já bloqueadas por outra instância do serviço são ignoradas,
+     * então várias réplicas processam lotes disjuntos em paralelo.
+     */
+    @Query(value = "SELECT id FROM cart WHERE added_at < :cutoff ORDER BY added_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> claimExpired(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+    
+    // Bloqueia os carrinhos informados que ainda não foram reivindicados por outra instância
+    @Query(value = "SELECT id FROM cart WHERE id IN (:ids) FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimByIds(@Param("ids") List<Long> ids);
+    
+    /**
+     * Projeção com o item do carrinho e o veículo que ele mantém reservado.
+     */
+    interface CartReservationView {
+        Long getId();
+        Long getVehicleId();
+    }
+    
+    /**
+     * Projeção com os campos necessários para agendar a expiração de um carrinho.
+     */
+    interface CartDeadlineView {
+        Long getId();
+        LocalDateTime getAddedAt();
+    }
 }
@@ -0,0 +1,51 @@
+package br.com.concessionaria.carsservice.repository;
+
+import br.com.concessionaria.carsservice.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Repositório para as respostas gravadas por Idempotency-Key
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    
+    // Reivindica a chave com um registro sem resposta; 0 se outra requisição já a reivindicou
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_key (idempotency_key, fingerprint, created_at) VALUES (:key, :fingerprint, :claimedAt) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertPending(@Param("key") String key, @Param("fingerprint") String fingerprint,
+                      @Param("claimedAt") LocalDateTime claimedAt);
+    
+    // Assume uma reivindicação abandonada (sem resposta e anterior ao corte) da mesma requisição
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.createdAt = :claimedAt WHERE r.key = :key AND r.status IS NULL " +
+           "AND r.fingerprint = :fingerprint AND r.createdAt < :staleBefore")
+    int takeOverStale(@Param("key") String key, @Param("fingerprint") String fingerprint,
+                      @Param("claimedAt") LocalDateTime claimedAt, @Param("staleBefore") LocalDateTime staleBefore);
+    
+    // Grava a resposta na reivindicação feita por esta execução (na transação da operação)
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.body = :body " +
+           "WHERE r.key = :key AND r.status IS NULL AND r.createdAt = :claimedAt")
+    int complete(@Param("key") String key, @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("status") int status, @Param("body") String body);
+    
+    // Libera a chave reivindicada por esta execução (operação falhou ou resposta não deve ser gravada)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.status IS NULL AND r.createdAt = :claimedAt")
+    int releasePending(@Param("key") String key, @Param("claimedAt") LocalDateTime claimedAt);
+    
+    // Remove as chaves gravadas antes do corte (fora da janela de retentativas)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,10 +1,79 @@
 package br.com.concessionaria.carsservice.repository;
 
+import br.com.concessionaria.carsservice.dto.SalesAggregate;
 import br.com.concessionaria.carsservice.model.Sale;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 // Repositório para acesso aos dados de vendas
 @Repository
-public interface SaleRepository extends JpaRepository<Sale, Long> {
+public interface SaleRepository extends JpaRepository<Sale, Long>, JpaSpecificationExecutor<Sale> {
+    
+    // Todas as vendas com os respectivos veículos em uma única consulta
+    @Query("SELECT s FROM Sale s JOIN FETCH s.vehicle")
+    List<Sale> findAllWithVehicle();
+    
+    /**
+     * Percorre as vendas filtradas em ordem (data, id) usando um cursor JDBC.
+     * As linhas são buscadas do banco em blocos de 500 conforme o Stream é consumido,
+     * então a memória usada não depende da quantidade de vendas exportadas.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Sale s JOIN FETCH s.vehicle " +
+           "WHERE (:seller IS NULL OR s.seller = :seller) AND (:client IS NULL OR s.client = :client) " +
+           "AND (:from IS NULL OR s.date >= :from) AND (:to IS NULL OR s.date < :to) " +
+           "ORDER BY s.date, s.id")
+    Stream<Sale> streamFiltered(@Param("seller") String seller, @Param("client") String client,
+                                @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Faturamento e quantidade de vendas por vendedor no período
+    @Query("SELECT new br.com.concessionaria.carsservice.dto.SalesAggregate(s.seller, COUNT(s), SUM(COALESCE(s.price, v.basePrice))) " +
+           "FROM Sale s JOIN s.vehicle v WHERE s.date >= :from AND s.date < :to " +
+           "GROUP BY s.seller ORDER BY SUM(COALESCE(s.price, v.basePrice)) DESC")
+    List<SalesAggregate> aggregateBySeller(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Faturamento e quantidade de vendas por modelo de veículo no período
+    @Query("SELECT new br.com.concessionaria.carsservice.dto.SalesAggregate(v.model, COUNT(s), SUM(COALESCE(s.price, v.basePrice))) " +
+           "FROM Sale s JOIN s.vehicle v WHERE s.date >= :from AND s.date < :to " +
+           "GROUP BY v.model ORDER BY SUM(COALESCE(s.price, v.basePrice)) DESC")
+    List<SalesAggregate> aggregateByModel(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Faturamento e quantidade de vendas por tipo de cliente no período
+    @Query("SELECT new br.com.concessionaria.carsservice.dto.SalesAggregate(COALESCE(s.clientType, 'NAO_INFORMADO'), COUNT(s), SUM(COALESCE(s.price, v.basePrice))) " +
+           "FROM Sale s JOIN s.vehicle v WHERE s.date >= :from AND s.date < :to " +
+           "GROUP BY COALESCE(s.clientType, 'NAO_INFORMADO') ORDER BY SUM(COALESCE(s.price, v.basePrice)) DESC")
+    List<SalesAggregate> aggregateByClientType(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Faturamento e quantidade de vendas por dia no período.
+     * Cada linha contém: ano, mês, dia, quantidade e faturamento.
+     */
+    @Query("SELECT YEAR(s.date), MONTH(s.date), DAY(s.date), COUNT(s), SUM(COALESCE(s.price, v.basePrice)) " +
+           "FROM Sale s JOIN s.vehicle v WHERE s.date >= :from AND s.date < :to " +
+           "GROUP BY YEAR(s.date), MONTH(s.date), DAY(s.date) " +
+           "ORDER BY YEAR(s.date), MONTH(s.date), DAY(s.date)")
+    List<Object[]> aggregateByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Faturamento e quantidade de vendas por mês no período.
+     * Cada linha contém: ano, mês, quantidade e faturamento.
+     */
+    @Query("SELECT YEAR(s.date), MONTH(s.date), COUNT(s), SUM(COALESCE(s.price, v.basePrice)) " +
+           "FROM Sale s JOIN s.vehicle v WHERE s.date >= :from AND s.date < :to " +
+           "GROUP BY YEAR(s.date), MONTH(s.date) " +
+           "ORDER BY YEAR(s.date), MONTH(s.date)")
+    List<Object[]> aggregateByMonth(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,49 @@
+package br.com.concessionaria.carsservice.repository;
+
+import br.com.concessionaria.carsservice.model.Sale;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros da listagem de vendas traduzidos para critérios JPA.
+ * Cada filtro é opcional: quando o valor é nulo, o critério não é aplicado.
+ */
+public final class SaleSpecifications {
+
+    private SaleSpecifications() {
+    }
+
+    // Carrega o veículo na mesma consulta (evita um SELECT extra por venda)
+    public static Specification<Sale> fetchVehicle() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class) {
+                root.fetch("vehicle");
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Sale> hasSeller(String seller) {
+        return (root, query, cb) -> seller == null ? null : cb.equal(root.get("seller"), seller);
+    }
+
+    public static Specification<Sale> hasClient(String client) {
+        return (root, query, cb) -> client == null ? null : cb.equal(root.get("client"), client);
+    }
+
+    public static Specification<Sale> dateFrom(LocalDateTime from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("date"), from);
+    }
+
+    public static Specification<Sale> dateBefore(LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThan(root.get("date"), to);
+    }
+
+    // Condição do cursor: vendas após (data, id) do último item da página anterior
+    public static Specification<Sale> after(LocalDateTime date, Long id) {
+        return (root, query, cb) -> date == null ? null : cb.or(
+                cb.greaterThan(root.get("date"), date),
+                cb.and(cb.equal(root.get("date"), date), cb.greaterThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.concessionaria.carsservice.repository;
+
+import br.com.concessionaria.carsservice.dto.SalesAggregate;
+import br.com.concessionaria.carsservice.dto.SalesGrouping;
+import br.com.concessionaria.carsservice.model.SalesTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+// Repositório para os totais de vendas acumulados
+@Repository
+public interface SalesTotalRepository extends JpaRepository<SalesTotal, SalesTotal.Key> {
+    
+    // Totais de uma dimensão (soma das faixas de cada grupo), ordenados pelo grupo
+    @Query("SELECT new br.com.concessionaria.carsservice.dto.SalesAggregate(t.groupKey, SUM(t.units), SUM(t.revenue)) " +
+           "FROM SalesTotal t WHERE t.dimension = :dimension GROUP BY t.groupKey ORDER BY t.groupKey")
+    List<SalesAggregate> sumByDimension(@Param("dimension") SalesGrouping dimension);
+    
+    // Total de um único grupo (soma das faixas)
+    @Query("SELECT new br.com.concessionaria.carsservice.dto.SalesAggregate(t.groupKey, SUM(t.units), SUM(t.revenue)) " +
+           "FROM SalesTotal t WHERE t.dimension = :dimension AND t.groupKey = :groupKey GROUP BY t.groupKey")
+    Optional<SalesAggregate> sumByGroup(@Param("dimension") SalesGrouping dimension, @Param("groupKey") String groupKey);
+    
+    // Cria a faixa zerada do grupo se ela ainda não existir
+    @Modifying
+    @Query(value = "INSERT INTO sales_total (dimension, group_key, stripe, units, revenue) VALUES (:dimension, :groupKey, :stripe, 0, 0) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("dimension") String dimension, @Param("groupKey") String groupKey, @Param("stripe") int stripe);
+    
+    // Soma atomicamente as novas vendas à faixa do grupo
+    @Modifying
+    @Query("UPDATE SalesTotal t SET t.units = t.units + :units, t.revenue = t.revenue + :revenue " +
+           "WHERE t.dimension = :dimension AND t.groupKey = :groupKey AND t.stripe = :stripe")
+    int increment(@Param("dimension") SalesGrouping dimension, @Param("groupKey") String groupKey, @Param("stripe") int stripe,
+                  @Param("units") long units, @Param("revenue") double revenue);
+    
+    // Remove todos os totais (usado antes de recalcular a partir da tabela de vendas)
+    @Modifying
+    @Query("DELETE FROM SalesTotal t")
+    int deleteAllTotals();
+}
@@ -1,12 +1,43 @@
 package br.com.concessionaria.carsservice.repository;
 
 import br.com.concessionaria.carsservice.model.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 // Repositório para acesso aos dados de veículos
 @Repository
-public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpecificationExecutor<Vehicle> {
+    
+    /**
+     * Espaço de sincronização das atualizações nativas de disponibilidade.
+     * Um UPDATE em massa (HQL ou nativo sem espaço declarado) faz o Hibernate descartar
+     * a região inteira de {@link Vehicle} no cache de segundo nível.
+     * Declarando um espaço que não corresponde a nenhuma entidade, nada é descartado
+     * automaticamente: quem chama remove os veículos afetados com {@code VehicleService.evict}.
+     */
+    String AVAILABILITY_SPACE = "vehicle_availability";
+    
+    /**
+     * Reserva o veículo com um único UPDATE condicional (disponível -> indisponível).
+     * Como a condição é avaliada pelo banco, apenas uma requisição concorrente
+     * consegue alterar a linha; as demais recebem 0 linhas afetadas.
+     * Não invalida o cache de segundo nível: o chamador deve descartar o veículo reservado.
+     * 
+     * @return Número de linhas afetadas (1 se reservou, 0 se já estava indisponível)
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = AVAILABILITY_SPACE))
+    @Query(value = "UPDATE vehicle SET available = false WHERE id = :id AND available = true", nativeQuery = true)
+    int reserveIfAvailable(@Param("id") Long id);
     
     /**
      * Conta quantos veículos estão disponíveis para venda.
@@ -0,0 +1,45 @@
+package br.com.concessionaria.carsservice.repository;
+
+import br.com.concessionaria.carsservice.model.Vehicle;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros do catálogo de veículos traduzidos para critérios JPA.
+ * Cada filtro é opcional: quando o valor é nulo, o critério não é aplicado,
+ * permitindo que o banco de dados faça toda a filtragem.
+ */
+public final class VehicleSpecifications {
+
+    private VehicleSpecifications() {
+    }
+
+    // Apenas veículos disponíveis para venda
+    public static Specification<Vehicle> isAvailable() {
+        return (root, query, cb) -> cb.isTrue(root.get("available"));
+    }
+
+    public static Specification<Vehicle> hasModel(String model) {
+        return (root, query, cb) -> model == null ? null : cb.equal(root.get("model"), model);
+    }
+
+    public static Specification<Vehicle> hasColor(String color) {
+        return (root, query, cb) -> color == null ? null : cb.equal(root.get("color"), color);
+    }
+
+    public static Specification<Vehicle> hasYear(Integer year) {
+        return (root, query, cb) -> year == null ? null : cb.equal(root.get("year"), year);
+    }
+
+    public static Specification<Vehicle> priceAtLeast(Double minPrice) {
+        return (root, query, cb) -> minPrice == null ? null : cb.greaterThanOrEqualTo(root.get("basePrice"), minPrice);
+    }
+
+    public static Specification<Vehicle> priceAtMost(Double maxPrice) {
+        return (root, query, cb) -> maxPrice == null ? null : cb.lessThanOrEqualTo(root.get("basePrice"), maxPrice);
+    }
+
+    // Condição do cursor: somente IDs após o último item da página anterior
+    public static Specification<Vehicle> idAfter(Long afterId) {
+        return (root, query, cb) -> afterId == null ? null : cb.greaterThan(root.get("id"), afterId);
+    }
+}
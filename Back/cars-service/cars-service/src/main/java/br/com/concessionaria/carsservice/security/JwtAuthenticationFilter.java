@@ -1,5 +1,7 @@
 package br.com.concessionaria.carsservice.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +14,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 // Filtro para validar o JWT em cada requisição
 @Component
@@ -19,6 +22,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    // Tempo de validação do token (assinatura ou cache de tokens já verificados), por resultado
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+
+    public JwtAuthenticationFilter(MeterRegistry meterRegistry) {
+        this.validTokens = meterRegistry.timer("cars.jwt.validation", "outcome", "valid");
+        this.invalidTokens = meterRegistry.timer("cars.jwt.validation", "outcome", "invalid");
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -27,7 +39,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
         }
-        if (token != null && jwtUtil.isTokenValid(token)) {
+        if (token != null && isTokenValid(token)) {
             // Usuário autenticado (não carrega detalhes, só valida o token)
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(null, null, null);
@@ -36,4 +48,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private boolean isTokenValid(String token) {
+        long start = System.nanoTime();
+        boolean valid = jwtUtil.isTokenValid(token);
+        (valid ? validTokens : invalidTokens).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return valid;
+    }
 }
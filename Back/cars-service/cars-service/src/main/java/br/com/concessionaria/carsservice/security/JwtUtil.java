@@ -1,22 +1,67 @@
 package br.com.concessionaria.carsservice.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
-// Utilitário para validação de JWT
+// Utilitário para validação de JWT.
+// O parser é criado uma única vez (é imutável e thread-safe) e as claims de tokens já
+// verificados ficam em um cache limitado, indexado pelo hash do token e descartado
+// quando o token expira. Assim o mesmo token não passa pela verificação HMAC a cada requisição.
 @Component
 public class JwtUtil {
     private final String SECRET = "segredo_super_secreto_seguro_32_bytes_min"; // mesma chave do user-service
     private final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(KEY).build();
+    private final Cache<String, Claims> verifiedTokens;
+
+    // Token próprio do cars-service para chamadas ao user-service (perfil SERVICE)
+    private static final long SERVICE_TOKEN_TTL_MS = TimeUnit.MINUTES.toMillis(10);
+    private String serviceToken;
+    private long serviceTokenRenewAt;
+
+    public JwtUtil(@Value("${cars.jwt.cache-size:10000}") long cacheSize,
+                   @Value("${cars.jwt.cache-max-ttl-seconds:3600}") long maxTtlSeconds) {
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return remainingNanos(claims, maxTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token);
+            getClaims(token);
             return true;
         } catch (Exception e) {
             return false;
@@ -24,6 +69,53 @@ public class JwtUtil {
     }
 
     public Claims getClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token).getBody();
+        String key = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(key);
+        if (claims == null) {
+            claims = parseAndVerify(token);
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    // Reaproveita o token de serviço e gera outro um minuto antes de expirar
+    public synchronized String getServiceToken() {
+        long now = System.currentTimeMillis();
+        if (serviceToken == null || now >= serviceTokenRenewAt) {
+            serviceToken = Jwts.builder()
+                    .setSubject("cars-service")
+                    .claim("role", "SERVICE")
+                    .setIssuedAt(new Date(now))
+                    .setExpiration(new Date(now + SERVICE_TOKEN_TTL_MS))
+                    .signWith(KEY, SignatureAlgorithm.HS256)
+                    .compact();
+            serviceTokenRenewAt = now + SERVICE_TOKEN_TTL_MS - TimeUnit.MINUTES.toMillis(1);
+        }
+        return serviceToken;
+    }
+
+    // Verificação completa (assinatura + expiração), sem passar pelo cache
+    private Claims parseAndVerify(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // Tempo restante até a expiração do token, limitado ao TTL máximo do cache
+    private static long remainingNanos(Claims claims, long maxTtlNanos) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return maxTtlNanos;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+        return Math.max(0, Math.min(remaining, maxTtlNanos));
+    }
+
+    // O cache guarda o hash SHA-256 do token, e não o token em si
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
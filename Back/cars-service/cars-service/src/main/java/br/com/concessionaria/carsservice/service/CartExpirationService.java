@@ -1,98 +1,138 @@
 package br.com.concessionaria.carsservice.service;
 
-import br.com.concessionaria.carsservice.model.Cart;
-import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.dto.CartCleanupResult;
+import br.com.concessionaria.carsservice.dto.CartExpiryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Serviço responsável por gerenciar a expiração automática de carrinhos.
- * Executa uma tarefa agendada que verifica carrinhos expirados e libera os veículos
- * automaticamente, garantindo que veículos não fiquem "presos" indefinidamente.
+ * Consome a fila de prazos do {@link CartExpiryScheduler} e libera os veículos
+ * dos carrinhos vencidos, garantindo que veículos não fiquem "presos" indefinidamente.
+ *
+ * Com várias réplicas do serviço, cada carrinho é reivindicado com
+ * {@code FOR UPDATE SKIP LOCKED} antes de ser expirado, então as instâncias
+ * dividem o trabalho entre si em vez de processar os mesmos carrinhos.
  */
 @Service
+@Slf4j
 public class CartExpirationService {
-    
+
     @Autowired
     private CartService cartService;
-    
+
     @Autowired
-    private VehicleService vehicleService;
-    
+    private CartExpiryScheduler cartExpiryScheduler;
+
+    @Value("${cars.cart-expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${cars.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    private final AtomicLong expiredFromQueue = new AtomicLong();
+    private final AtomicLong expiredFromSweep = new AtomicLong();
+    private final AtomicLong sweepBatches = new AtomicLong();
+
+    // Carrinhos expirados por execução, separados entre a fila local e a varredura no banco
+    private final DistributionSummary queuePasses;
+    private final DistributionSummary sweepPasses;
+
+    public CartExpirationService(MeterRegistry meterRegistry) {
+        this.queuePasses = DistributionSummary.builder("cars.cart.expiry.expired")
+                .tag("source", "queue")
+                .baseUnit("carts")
+                .register(meterRegistry);
+        this.sweepPasses = DistributionSummary.builder("cars.cart.expiry.expired")
+                .tag("source", "sweep")
+                .baseUnit("carts")
+                .register(meterRegistry);
+    }
+
     /**
-     * Tarefa agendada que executa a cada 60 segundos (1 minuto).
-     * Verifica todos os carrinhos que estão há mais de 1 minuto sem checkout
-     * e libera automaticamente os veículos, removendo o carrinho.
+     * Tarefa agendada que executa a cada 1 segundo.
+     * Retira da fila apenas os carrinhos cujo prazo venceu e libera seus veículos,
+     * então um veículo volta ao catálogo no máximo cerca de 1 segundo após o prazo.
      */
-    @Scheduled(fixedRate = 60000) // Executa a cada 60 segundos
+    @Scheduled(fixedDelay = 1000) // Executa 1 segundo após o término da execução anterior
     public void checkExpiredCarts() {
         try {
-            System.out.println("🔄 Iniciando verificação de carrinhos expirados...");
-            
-            LocalDateTime oneMinuteAgo = LocalDateTime.now().minusMinutes(1);
-            List<Cart> allCarts = cartService.findAll();
-            
-            System.out.println("📊 Total de carrinhos ativos: " + allCarts.size());
-            
-            int expiredCount = 0;
-            
-            for (Cart cart : allCarts) {
-                // Se o carrinho foi adicionado há mais de 1 minuto
-                if (cart.getAddedAt().isBefore(oneMinuteAgo)) {
-                    // Libera o veículo
-                    Vehicle vehicle = cart.getVehicle();
-                    vehicle.setAvailable(true);
-                    vehicleService.save(vehicle);
-                    
-                    // Remove o carrinho expirado
-                    cartService.deleteById(cart.getId());
-                    
-                    expiredCount++;
-                    
-                    System.out.println("🕐 Carrinho expirado removido: ID=" + cart.getId() + 
-                                     ", Veículo=" + vehicle.getModel() + 
-                                     ", Cliente=" + cart.getClient());
-                }
-            }
-            
-            if (expiredCount > 0) {
-                System.out.println("✅ Limpeza automática concluída: " + expiredCount + " carrinhos expirados removidos");
-            } else {
-                System.out.println("✅ Nenhum carrinho expirado encontrado");
+            List<Long> expiredIds = cartExpiryScheduler.drainExpired();
+            int expiredInPass = 0;
+            for (int from = 0; from < expiredIds.size(); from += batchSize) {
+                List<Long> batch = expiredIds.subList(from, Math.min(from + batchSize, expiredIds.size()));
+                int expiredCount = cartService.expireCarts(batch);
+                expiredFromQueue.addAndGet(expiredCount);
+                expiredInPass += expiredCount;
+                log.info("Limpeza automática concluída: {} carrinhos expirados removidos", expiredCount);
             }
-            
+            queuePasses.record(expiredInPass);
         } catch (Exception e) {
-            System.err.println("❌ Erro na limpeza automática de carrinhos: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Erro na limpeza automática de carrinhos", e);
         }
     }
-    
+
+    /**
+     * Varredura periódica no banco que reivindica, em lotes, carrinhos vencidos que
+     * não estão na fila desta instância (por exemplo, criados por uma réplica que parou).
+     * Cada lote é uma transação curta; lotes bloqueados por outras réplicas são pulados.
+     */
+    @Scheduled(fixedDelayString = "${cars.cart-expiry.sweep-interval-ms:10000}")
+    public void sweepExpiredCarts() {
+        try {
+            sweepPasses.record(claimAndExpireAll().getDeletedCarts());
+        } catch (Exception e) {
+            log.error("Erro na varredura de carrinhos expirados", e);
+        }
+    }
+
     /**
      * Método utilitário para verificar manualmente carrinhos expirados.
      * Pode ser chamado via endpoint para testes ou manutenção manual.
-     * 
-     * @return Número de carrinhos que foram limpos
+     * Usa a mesma reivindicação em lotes da varredura periódica, então carrinhos
+     * bloqueados por um checkout ou por outra réplica não são tocados.
+     *
+     * @return Quantidade de veículos liberados e de carrinhos removidos
      */
-    public int cleanExpiredCartsManually() {
-        LocalDateTime oneMinuteAgo = LocalDateTime.now().minusMinutes(1);
-        List<Cart> allCarts = cartService.findAll();
-        
-        int cleanedCount = 0;
-        
-        for (Cart cart : allCarts) {
-            if (cart.getAddedAt().isBefore(oneMinuteAgo)) {
-                Vehicle vehicle = cart.getVehicle();
-                vehicle.setAvailable(true);
-                vehicleService.save(vehicle);
-                cartService.deleteById(cart.getId());
-                cleanedCount++;
+    public CartCleanupResult cleanExpiredCartsManually() {
+        return claimAndExpireAll();
+    }
+
+    // Reivindica e expira lotes de carrinhos vencidos até sobrar um lote incompleto
+    private CartCleanupResult claimAndExpireAll() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(CartExpiryScheduler.RESERVATION_TTL);
+        CartCleanupResult total = new CartCleanupResult(0, 0);
+        int claimed;
+        do {
+            CartCleanupResult batch = cartService.claimAndExpireBatch(cutoff, batchSize);
+            claimed = batch.getDeletedCarts();
+            total.setReleasedVehicles(total.getReleasedVehicles() + batch.getReleasedVehicles());
+            total.setDeletedCarts(total.getDeletedCarts() + claimed);
+            if (claimed > 0) {
+                sweepBatches.incrementAndGet();
+                expiredFromSweep.addAndGet(claimed);
+                log.info("Nó {} reivindicou {} carrinhos expirados", nodeId, claimed);
             }
-        }
-        
-        return cleanedCount;
+        } while (claimed == batchSize);
+        return total;
+    }
+
+    /**
+     * Retorna quantos carrinhos esta instância expirou desde a inicialização.
+     *
+     * @return Estatísticas da expiração nesta réplica
+     */
+    public CartExpiryStats getStats() {
+        return new CartExpiryStats(nodeId, cartExpiryScheduler.size(),
+                expiredFromQueue.get(), expiredFromSweep.get(), sweepBatches.get());
     }
 }
@@ -0,0 +1,137 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.repository.CartRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila em memória com o prazo de expiração de cada carrinho ativo.
+ * Os carrinhos ficam ordenados pelo prazo em uma {@link DelayQueue}, de modo que
+ * buscar os carrinhos vencidos custa proporcionalmente ao número de carrinhos vencidos,
+ * e não ao total de carrinhos no banco.
+ * 
+ * A fila é carregada do banco na inicialização e mantida pelo {@link CartService}
+ * quando carrinhos são criados ou removidos (checkout, cancelamento, limpeza),
+ * sempre após o commit da transação que gravou a alteração.
+ */
+@Component
+@Slf4j
+public class CartExpiryScheduler {
+
+    /**
+     * Tempo máximo que um veículo pode ficar reservado no carrinho.
+     */
+    public static final Duration RESERVATION_TTL = Duration.ofMinutes(1);
+
+    private final DelayQueue<CartDeadline> queue = new DelayQueue<>();
+
+    // Prazo atual de cada carrinho ativo; permite cancelar em O(1) sem varrer a fila
+    private final Map<Long, CartDeadline> active = new ConcurrentHashMap<>();
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    /**
+     * Carrega na fila os carrinhos que já existiam no banco antes da inicialização.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromDatabase() {
+        List<CartRepository.CartDeadlineView> carts = cartRepository.findAllDeadlines();
+        carts.forEach(cart -> schedule(cart.getId(), cart.getAddedAt()));
+        log.info("Fila de expiração carregada com {} carrinhos ativos", carts.size());
+    }
+
+    /**
+     * Agenda a expiração de um carrinho a partir do momento em que foi adicionado.
+     * 
+     * @param cartId ID do carrinho
+     * @param addedAt Data e hora em que o veículo foi adicionado ao carrinho
+     */
+    public void schedule(Long cartId, LocalDateTime addedAt) {
+        long deadline = addedAt.plus(RESERVATION_TTL).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        CartDeadline entry = new CartDeadline(cartId, deadline);
+        CartDeadline previous = active.put(cartId, entry);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.add(entry);
+    }
+
+    /**
+     * Cancela a expiração de um carrinho que saiu do sistema (checkout ou cancelamento).
+     * A entrada continua na fila, mas é descartada quando seu prazo chegar.
+     * 
+     * @param cartId ID do carrinho
+     */
+    public void cancel(Long cartId) {
+        active.remove(cartId);
+    }
+
+    /**
+     * Indica se o carrinho tem expiração agendada nesta instância.
+     * 
+     * @param cartId ID do carrinho
+     */
+    public boolean isScheduled(Long cartId) {
+        return active.containsKey(cartId);
+    }
+
+    /**
+     * Retira da fila todos os carrinhos cujo prazo já venceu.
+     * 
+     * @return IDs dos carrinhos vencidos que ainda estão ativos
+     */
+    public List<Long> drainExpired() {
+        List<Long> expired = new ArrayList<>();
+        CartDeadline entry;
+        while ((entry = queue.poll()) != null) {
+            if (active.remove(entry.cartId, entry)) {
+                expired.add(entry.cartId);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Há quanto tempo venceu o prazo mais antigo ainda na fila (0 se nenhum venceu).
+     * Valores altos indicam que a limpeza automática não está acompanhando as expirações.
+     */
+    public long overdueMillis() {
+        CartDeadline head = queue.peek();
+        return head == null ? 0 : Math.max(0, System.currentTimeMillis() - head.deadlineMillis);
+    }
+
+    /**
+     * Quantidade de carrinhos com expiração agendada.
+     */
+    public int size() {
+        return active.size();
+    }
+
+    private record CartDeadline(Long cartId, long deadlineMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineMillis, ((CartDeadline) other).deadlineMillis);
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package br.com.concessionaria.carsservice.service;
 
+import br.com.concessionaria.carsservice.dto.CartCleanupResult;
 import br.com.concessionaria.carsservice.model.Cart;
 import br.com.concessionaria.carsservice.repository.CartRepository;
+import br.com.concessionaria.carsservice.repository.CartRepository.CartReservationView;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +26,15 @@ public class CartService {
     // Injeta automaticamente o repositório de carrinho
     @Autowired
     private CartRepository cartRepository;
+    
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    
+    @Autowired
+    private CartExpiryScheduler cartExpiryScheduler;
+    
+    @Autowired
+    private VehicleService vehicleService;
 
     /**
      * Retorna todos os carrinhos cadastrados no sistema.
@@ -31,13 +47,13 @@ public class CartService {
     }
 
     /**
-     * Busca um carrinho específico pelo seu identificador único.
+     * Busca um carrinho específico pelo seu identificador único, já com o veículo.
      * 
      * @param id Identificador único do carrinho
      * @return Optional contendo o carrinho se encontrado, vazio caso contrário
      */
     public Optional<Cart> findById(Long id) {
-        return cartRepository.findById(id);
+        return cartRepository.findWithVehicleById(id);
     }
 
     /**
@@ -52,15 +68,130 @@ public class CartService {
     }
     
     /**
-     * Busca um item específico do carrinho por cliente e veículo.
-     * Usado para verificar se um veículo já está no carrinho do cliente.
+     * Verifica se um veículo já está no carrinho do cliente.
      * 
      * @param client Identificação do cliente
      * @param vehicleId ID do veículo
-     * @return Optional contendo o item se encontrado, vazio caso contrário
+     * @return true se o item já existe no carrinho
      */
-    public Optional<Cart> findByClientAndVehicleId(String client, Long vehicleId) {
-        return cartRepository.findByClientAndVehicleId(client, vehicleId);
+    public boolean existsByClientAndVehicleId(String client, Long vehicleId) {
+        return cartRepository.existsByClientAndVehicleId(client, vehicleId);
+    }
+
+    /**
+     * Reserva um veículo para o cliente e cria o item do carrinho.
+     * A reserva é feita com um UPDATE condicional, sem ler o veículo antes,
+     * então requisições simultâneas para o mesmo veículo têm exatamente um vencedor.
+     * Se a criação do carrinho falhar, a reserva é desfeita junto com a transação.
+     * A expiração só é agendada depois do commit, para que uma transação desfeita
+     * não deixe na fila um prazo de carrinho que nunca foi gravado.
+     * 
+     * @param vehicleId ID do veículo a ser reservado
+     * @param client Identificação do cliente
+     * @return Optional com o carrinho criado, ou vazio se o veículo não estava disponível
+     */
+    @Transactional
+    public Optional<Cart> reserveVehicle(Long vehicleId, String client) {
+        if (vehicleRepository.reserveIfAvailable(vehicleId) == 0) {
+            return Optional.empty();
+        }
+        vehicleService.evict(List.of(vehicleId));
+        Cart cart = cartRepository.save(new Cart(null, vehicleRepository.findById(vehicleId).orElseThrow(), client, LocalDateTime.now()));
+        afterCommit(() -> cartExpiryScheduler.schedule(cart.getId(), cart.getAddedAt()));
+        return Optional.of(cart);
+    }
+
+    /**
+     * Expira os carrinhos informados: libera os veículos e remove os carrinhos
+     * em uma única transação. Carrinhos que já não existem ou que estão sendo
+     * expirados por outra instância do serviço são ignorados.
+     * 
+     * @param cartIds IDs dos carrinhos vencidos
+     * @return Número de carrinhos efetivamente expirados
+     */
+    @Transactional
+    public int expireCarts(List<Long> cartIds) {
+        return releaseAndDelete(cartRepository.claimByIds(cartIds)).getDeletedCarts();
+    }
+
+    /**
+     * Reivindica e expira um lote de carrinhos vencidos.
+     * Seguro para várias réplicas: cada lote é bloqueado com SKIP LOCKED,
+     * de modo que duas instâncias nunca processam o mesmo carrinho. Pelo mesmo motivo,
+     * carrinhos bloqueados por um checkout em andamento ficam de fora e seus veículos
+     * nunca são liberados por baixo da venda.
+     * 
+     * @param cutoff Carrinhos adicionados antes deste horário são considerados expirados
+     * @param batchSize Quantidade máxima de carrinhos reivindicados no lote
+     * @return Quantidade de veículos liberados e de carrinhos removidos neste lote
+     */
+    @Transactional
+    public CartCleanupResult claimAndExpireBatch(LocalDateTime cutoff, int batchSize) {
+        return releaseAndDelete(cartRepository.claimExpired(cutoff, batchSize));
+    }
+
+    // Libera os veículos e remove apenas os carrinhos já bloqueados por esta transação
+    private CartCleanupResult releaseAndDelete(List<Long> claimedIds) {
+        if (claimedIds.isEmpty()) {
+            return new CartCleanupResult(0, 0);
+        }
+        vehicleService.evict(vehicleIds(cartRepository.findReservationsByIds(claimedIds)));
+        int releasedVehicles = cartRepository.releaseVehiclesOfCarts(claimedIds);
+        int deletedCarts = cartRepository.deleteByIdIn(claimedIds);
+        return new CartCleanupResult(releasedVehicles, deletedCarts);
+    }
+
+    /**
+     * Cancela um item do carrinho: lê o ID do veículo reservado, libera o veículo
+     * e remove o item com uma instrução cada, sem carregar as entidades.
+     * 
+     * @param id ID do carrinho
+     * @return true se o item existia e foi removido
+     */
+    @Transactional
+    public boolean cancel(Long id) {
+        return cancelAll(cartRepository.findReservationsByIds(List.of(id))) > 0;
+    }
+
+    /**
+     * Esvazia o carrinho do cliente, liberando todos os veículos em lote.
+     * 
+     * @param client Identificação do cliente
+     * @return Quantidade de itens removidos
+     */
+    @Transactional
+    public int clear(String client) {
+        return cancelAll(cartRepository.findReservationsByClient(client));
+    }
+
+    private int cancelAll(List<CartReservationView> reservations) {
+        if (reservations.isEmpty()) {
+            return 0;
+        }
+        List<Long> cartIds = reservations.stream().map(CartReservationView::getId).toList();
+        vehicleService.evict(vehicleIds(reservations));
+        cartRepository.releaseVehiclesOfCarts(cartIds);
+        int removed = cartRepository.deleteByIdIn(cartIds);
+        afterCommit(() -> cartIds.forEach(cartExpiryScheduler::cancel));
+        return removed;
+    }
+
+    // Atualiza a fila de expiração só quando a transação for confirmada (na hora, se não houver transação)
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static List<Long> vehicleIds(List<CartReservationView> reservations) {
+        return reservations.stream().map(CartReservationView::getVehicleId).toList();
     }
 
     /**
@@ -83,5 +214,6 @@ public class CartService {
      */
     public void deleteById(Long id) {
         cartRepository.deleteById(id);
+        cartExpiryScheduler.cancel(id);
     }
 }
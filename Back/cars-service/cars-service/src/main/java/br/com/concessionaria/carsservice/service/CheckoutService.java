@@ -0,0 +1,151 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.dto.CheckoutResult;
+import br.com.concessionaria.carsservice.model.Cart;
+import br.com.concessionaria.carsservice.model.Sale;
+import br.com.concessionaria.carsservice.repository.CartRepository;
+import br.com.concessionaria.carsservice.repository.SaleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Serviço responsável por transformar itens do carrinho em vendas.
+ * Todo o checkout acontece em uma única transação: os carrinhos são validados
+ * em uma passada, as vendas são inseridas em lote e os carrinhos removidos
+ * com uma única instrução. Se algo falhar, nada é gravado.
+ *
+ * O tipo de cada cliente (VIP) vem do user-service e deve ser resolvido antes de abrir a
+ * transação ({@link #clientTypesOfCart}, {@link #clientTypesOfClient}): assim uma consulta lenta
+ * não mantém uma conexão do pool parada enquanto espera a resposta HTTP.
+ */
+@Service
+public class CheckoutService {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private CartExpiryScheduler cartExpiryScheduler;
+
+    @Autowired
+    private SalesTotalsService salesTotalsService;
+
+    @Autowired
+    private ClientProfileService clientProfileService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    /**
+     * Tipo do cliente dono do carrinho. Deve ser chamado fora de transação.
+     * 
+     * @param cartId ID do carrinho
+     * @return Mapa documento → "VIP" ou "COMUM" (vazio se o carrinho não existe)
+     */
+    public Map<String, String> clientTypesOfCart(Long cartId) {
+        return clientProfileService.resolveClientTypes(cartRepository.findClientById(cartId).map(Set::of).orElse(Set.of()));
+    }
+
+    /**
+     * Tipo do cliente informado. Deve ser chamado fora de transação.
+     * 
+     * @param client Identificação do cliente
+     * @return Mapa documento → "VIP" ou "COMUM"
+     */
+    public Map<String, String> clientTypesOfClient(String client) {
+        return clientProfileService.resolveClientTypes(Set.of(client));
+    }
+
+    /**
+     * Finaliza a compra de um único item do carrinho.
+     * 
+     * @param cartId ID do carrinho
+     * @param seller Vendedor responsável
+     * @param type Tipo da venda ("online" ou "fisica")
+     * @param clientTypes Tipos dos clientes, resolvidos antes da transação por {@link #clientTypesOfCart}
+     * @return Resultado do checkout, ou vazio se o carrinho não existe
+     */
+    @Transactional
+    public Optional<CheckoutResult> checkout(Long cartId, String seller, String type, Map<String, String> clientTypes) {
+        return cartRepository.findWithVehicleById(cartId)
+                .map(cart -> process(List.of(cart), seller, type, clientTypes));
+    }
+
+    /**
+     * Finaliza a compra de todos os itens do carrinho de um cliente.
+     * Itens com reserva expirada são descartados e seus veículos liberados.
+     * 
+     * @param client Identificação do cliente
+     * @param seller Vendedor responsável
+     * @param type Tipo da venda ("online" ou "fisica")
+     * @param clientTypes Tipos dos clientes, resolvidos antes da transação por {@link #clientTypesOfClient}
+     * @return Resultado do checkout (zerado se o carrinho estiver vazio)
+     */
+    @Transactional
+    public CheckoutResult checkoutAll(String client, String seller, String type, Map<String, String> clientTypes) {
+        return process(cartRepository.findByClient(client), seller, type, clientTypes);
+    }
+
+    private CheckoutResult process(List<Cart> carts, String seller, String type, Map<String, String> clientTypes) {
+        if (carts.isEmpty()) {
+            return new CheckoutResult(0, 0, 0, 0);
+        }
+
+        // Bloqueia os carrinhos. Se algum já está bloqueado por outro checkout ou pela expiração,
+        // nada é gravado: o resultado informa os itens bloqueados para que o cliente tente de novo
+        Set<Long> claimedIds = new HashSet<>(cartRepository.claimByIds(carts.stream().map(Cart::getId).toList()));
+        if (claimedIds.size() < carts.size()) {
+            return new CheckoutResult(0, 0, 0, carts.size() - claimedIds.size());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(CartExpiryScheduler.RESERVATION_TTL);
+        List<Long> expiredIds = new ArrayList<>();
+        List<Long> releasedVehicleIds = new ArrayList<>();
+        List<Sale> sales = new ArrayList<>();
+        double total = 0;
+
+        for (Cart cart : carts) {
+            if (cart.getAddedAt().isBefore(cutoff)) {
+                expiredIds.add(cart.getId());
+                releasedVehicleIds.add(cart.getVehicle().getId());
+                continue;
+            }
+            String clientType = clientTypes.get(cart.getClient());
+            if (clientType == null) {
+                throw new IllegalStateException("Tipo do cliente não resolvido antes do checkout: " + cart.getClient());
+            }
+            double precoFinal = pricingService.calcularPrecoFinal(cart.getVehicle(), clientType);
+            total += precoFinal;
+            sales.add(new Sale(null, type, cart.getClient(), seller, cart.getVehicle(), now, precoFinal, clientType));
+        }
+
+        if (!expiredIds.isEmpty()) {
+            cartRepository.releaseVehiclesOfCarts(expiredIds);
+            vehicleService.evict(releasedVehicleIds);
+        }
+        if (!claimedIds.isEmpty()) {
+            cartRepository.deleteByIdIn(new ArrayList<>(claimedIds));
+        }
+        saleRepository.saveAll(sales);
+        salesTotalsService.record(sales);
+        claimedIds.forEach(cartExpiryScheduler::cancel);
+
+        return new CheckoutResult(sales.size(), expiredIds.size(), total, 0);
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.client.UserLookupClient;
+import br.com.concessionaria.carsservice.client.UserServiceUnavailableException;
+import br.com.concessionaria.carsservice.config.CacheLoaderExecutorConfig;
+import br.com.concessionaria.carsservice.dto.ClientProfile;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resolve o tipo do cliente (VIP ou COMUM) consultando o user-service.
+ *
+ * As respostas ficam em um cache curto. Documentos ausentes do cache são buscados
+ * juntos em uma única chamada em lote, e requisições simultâneas pelo mesmo documento
+ * aguardam a mesma consulta em andamento em vez de repeti-la.
+ *
+ * A consulta não pode ser feita com uma transação aberta: em uma falha de cache ela espera
+ * a resposta HTTP (até {@code cars.user-service.timeout-ms}) segurando a conexão do pool,
+ * e um user-service lento esgotaria o pool de conexões de todo o serviço.
+ */
+@Service
+public class ClientProfileService {
+
+    private final AsyncLoadingCache<String, ClientProfile> cache;
+    private final long timeoutMs;
+
+    public ClientProfileService(UserLookupClient userLookupClient,
+                                @Qualifier(CacheLoaderExecutorConfig.CACHE_LOADER_EXECUTOR) Executor executor,
+                                @Value("${cars.user-service.cache-ttl-seconds:60}") long ttlSeconds,
+                                @Value("${cars.user-service.cache-size:10000}") long cacheSize,
+                                @Value("${cars.user-service.timeout-ms:2000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                // Chamadas HTTP bloqueantes rodam no executor das cargas dos caches (threads virtuais
+                // no perfil virtual-threads, pool limitado nos demais), e não no ForkJoinPool comum
+                .executor(executor)
+                .buildAsync(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<ClientProfile> asyncLoad(String document, Executor executor) {
+                        return asyncLoadAll(Set.of(document), executor).thenApply(found -> found.get(document));
+                    }
+
+                    @Override
+                    public CompletableFuture<Map<String, ClientProfile>> asyncLoadAll(Set<? extends String> documents,
+                                                                                     Executor executor) {
+                        return CompletableFuture.supplyAsync(() -> {
+                            Map<String, ClientProfile> found = new HashMap<>(userLookupClient.findByDocuments(Set.copyOf(documents)));
+                            // Documentos não cadastrados também ficam no cache, como clientes comuns
+                            for (String document : documents) {
+                                found.putIfAbsent(document, new ClientProfile(document, false, null));
+                            }
+                            return found;
+                        }, executor);
+                    }
+                });
+    }
+
+    /**
+     * Tipo de cada cliente, consultando o user-service apenas para os que não estão no cache.
+     *
+     * @param documents Documentos dos clientes
+     * @return Mapa documento → "VIP" ou "COMUM"
+     * @throws UserServiceUnavailableException se o user-service não responder a tempo
+     * @throws IllegalStateException se chamado dentro de uma transação
+     */
+    public Map<String, String> resolveClientTypes(Collection<String> documents) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Tipos de cliente devem ser resolvidos antes de abrir a transação");
+        }
+        Map<String, ClientProfile> profiles;
+        try {
+            profiles = cache.getAll(documents).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserServiceUnavailableException("Consulta ao user-service interrompida", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new UserServiceUnavailableException("Falha ao consultar o user-service", e);
+        }
+        Map<String, String> types = new HashMap<>();
+        profiles.forEach((document, profile) -> types.put(document, profile.clientType()));
+        return types;
+    }
+}
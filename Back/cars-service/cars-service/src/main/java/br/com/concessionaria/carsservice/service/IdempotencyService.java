@@ -0,0 +1,264 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.model.IdempotencyRecord;
+import br.com.concessionaria.carsservice.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Serviço que torna operações repetíveis com segurança por meio do cabeçalho Idempotency-Key.
+ * 
+ * Antes de executar, a requisição reivindica a chave gravando um registro sem resposta
+ * (tabela {@code idempotency_key}) em uma transação própria. Assim uma duplicata em outra
+ * réplica encontra a chave reivindicada e recebe 409 em vez de executar a operação.
+ * A resposta é gravada no registro na mesma transação da operação; retentativas com a mesma
+ * chave recebem a resposta gravada, servida de um cache em memória limitado por tamanho e tempo.
+ * Duplicatas simultâneas na mesma instância aguardam a execução em andamento.
+ * 
+ * A chave fica vinculada à requisição (operação e parâmetros): reutilizá-la em outra
+ * requisição responde 422. Respostas 409 (conflito temporário) e 5xx não são gravadas
+ * e liberam a chave, então a retentativa executa de novo. Uma reivindicação sem resposta
+ * (instância interrompida no meio da operação) pode ser assumida após o tempo de expiração.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 200;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Cache<String, StoredResponse> cache;
+
+    // Execuções em andamento por chave, compartilhadas com as requisições duplicadas
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(@Value("${cars.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                              @Value("${cars.idempotency.cache-size:10000}") long cacheSize,
+                              @Value("${cars.idempotency.pending-timeout-seconds:60}") long pendingTimeoutSeconds) {
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.pendingTimeout = Duration.ofSeconds(pendingTimeoutSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Verifica se a chave informada pelo cliente pode ser usada.
+     * 
+     * @param key Valor do cabeçalho Idempotency-Key (pode ser nulo)
+     * @return true se a chave é nula ou tem tamanho aceitável
+     */
+    public boolean isValidKey(String key) {
+        return key == null || (!key.isBlank() && key.length() <= MAX_KEY_LENGTH);
+    }
+
+    /**
+     * Executa a operação uma única vez por chave.
+     * Sem chave, a operação é executada normalmente.
+     * 
+     * @param operation Nome da operação, usado para separar chaves de endpoints diferentes
+     * @param key Valor do cabeçalho Idempotency-Key (pode ser nulo)
+     * @param request Descrição da requisição (parâmetros que definem a operação); a mesma chave
+     *                com outra descrição é rejeitada com 422
+     * @param action Operação a executar; sua resposta deve ter corpo textual
+     * @return Resposta da execução original, 409 se ela ainda está em andamento em outra instância
+     *         ou 422 se a chave pertence a outra requisição
+     */
+    public ResponseEntity<?> execute(String operation, String key, String request, Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+
+        String id = operation + ":" + key;
+        String fingerprint = fingerprint(operation, request);
+        StoredResponse stored = lookup(id);
+        if (stored != null) {
+            return stored.toResponse(fingerprint);
+        }
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return running.fingerprint().equals(fingerprint)
+                    ? await(running.result()).toResponse(fingerprint)
+                    : StoredResponse.MISMATCH;
+        }
+
+        try {
+            // A execução anterior pode ter terminado entre a consulta e o registro acima
+            stored = cache.getIfPresent(id);
+            if (stored == null) {
+                stored = claimAndExecute(id, fingerprint, action);
+            }
+            mine.result().complete(stored);
+            return stored.toResponse(fingerprint);
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /**
+     * Remove do banco as chaves mais antigas que a janela de retentativas.
+     */
+    @Scheduled(fixedDelay = 3600000) // Executa a cada 1 hora
+    public void purgeExpiredKeys() {
+        int removed = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (removed > 0) {
+            log.info("{} chaves de idempotência expiradas removidas", removed);
+        }
+    }
+
+    // Respostas já gravadas (registros sem status ainda estão em andamento)
+    private StoredResponse lookup(String id) {
+        StoredResponse stored = cache.getIfPresent(id);
+        if (stored == null) {
+            stored = idempotencyRecordRepository.findById(id)
+                    .filter(record -> record.getStatus() != null)
+                    .map(StoredResponse::of)
+                    .orElse(null);
+            if (stored != null) {
+                cache.put(id, stored);
+            }
+        }
+        return stored;
+    }
+
+    private StoredResponse claimAndExecute(String id, String fingerprint, Supplier<ResponseEntity<?>> action) {
+        // Precisão do TIMESTAMP(6): o horário da reivindicação identifica esta execução no registro
+        LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (idempotencyRecordRepository.insertPending(id, fingerprint, claimedAt) == 0
+                && idempotencyRecordRepository.takeOverStale(id, fingerprint, claimedAt, claimedAt.minus(pendingTimeout)) == 0) {
+            return claimedElsewhere(id);
+        }
+
+        StoredResponse stored;
+        try {
+            // A operação e a resposta da chave são gravadas na mesma transação
+            stored = transactionTemplate.execute(status -> {
+                StoredResponse response = StoredResponse.of(action.get(), fingerprint);
+                if (isStorable(response)
+                        && idempotencyRecordRepository.complete(id, claimedAt, response.status(), response.body()) == 0) {
+                    // A reivindicação expirou e outra execução assumiu a chave: desfaz esta
+                    status.setRollbackOnly();
+                    return null;
+                }
+                return response;
+            });
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.releasePending(id, claimedAt);
+            throw e;
+        }
+        if (stored == null) {
+            return claimedElsewhere(id);
+        }
+        if (isStorable(stored)) {
+            cache.put(id, stored);
+        } else {
+            idempotencyRecordRepository.releasePending(id, claimedAt);
+        }
+        return stored;
+    }
+
+    // A chave pertence a outra execução: resposta gravada por ela ou 409 enquanto está em andamento
+    private StoredResponse claimedElsewhere(String id) {
+        return idempotencyRecordRepository.findById(id)
+                .map(record -> {
+                    if (record.getStatus() == null) {
+                        return StoredResponse.inProgress(record.getFingerprint());
+                    }
+                    StoredResponse stored = StoredResponse.of(record);
+                    cache.put(id, stored);
+                    return stored;
+                })
+                .orElseGet(() -> StoredResponse.inProgress(null));
+    }
+
+    private static boolean isStorable(StoredResponse response) {
+        return response.status() < 500 && response.status() != HttpStatus.CONFLICT.value();
+    }
+
+    // Visível no pacote para os testes simularem reivindicações de outras instâncias
+    static String fingerprint(String operation, String request) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest((operation + "\n" + request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<StoredResponse> result) {
+    }
+
+    private record StoredResponse(int status, String body, String fingerprint) {
+
+        static final ResponseEntity<?> MISMATCH = ResponseEntity.unprocessableEntity()
+                .body("Idempotency-Key já utilizado em outra requisição");
+
+        static StoredResponse of(ResponseEntity<?> response, String fingerprint) {
+            Object body = response.getBody();
+            return new StoredResponse(response.getStatusCode().value(), body == null ? null : body.toString(), fingerprint);
+        }
+
+        static StoredResponse of(IdempotencyRecord record) {
+            return new StoredResponse(record.getStatus(), record.getBody(), record.getFingerprint());
+        }
+
+        static StoredResponse inProgress(String fingerprint) {
+            return new StoredResponse(HttpStatus.CONFLICT.value(),
+                    "Requisição com este Idempotency-Key em andamento. Tente novamente.", fingerprint);
+        }
+
+        // Chaves gravadas antes da impressão digital (fingerprint nulo) valem para qualquer requisição
+        ResponseEntity<?> toResponse(String requestFingerprint) {
+            if (fingerprint != null && !fingerprint.equals(requestFingerprint)) {
+                return MISMATCH;
+            }
+            return ResponseEntity.status(status).body(body);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.model.Vehicle;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável pelo cálculo do preço final de venda de um veículo.
+ * Aplica os descontos da concessionária sobre o preço base.
+ */
+@Service
+public class PricingService {
+
+    /**
+     * Calcula o preço final do veículo.
+     * Veículos brancos têm 5% de desconto e clientes VIP têm mais 10% de desconto.
+     * 
+     * @param vehicle Veículo vendido
+     * @param clientType Tipo do cliente ("VIP" ou "COMUM")
+     * @return Preço final em reais
+     */
+    public double calcularPrecoFinal(Vehicle vehicle, String clientType) {
+        double preco = vehicle.getBasePrice();
+        if ("branco".equalsIgnoreCase(vehicle.getColor())) {
+            preco *= 0.95;
+        }
+        if ("VIP".equalsIgnoreCase(clientType)) {
+            preco *= 0.90;
+        }
+        return preco;
+    }
+}
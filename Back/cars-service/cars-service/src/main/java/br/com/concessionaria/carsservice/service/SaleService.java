@@ -1,12 +1,28 @@
 package br.com.concessionaria.carsservice.service;
 
+import br.com.concessionaria.carsservice.dto.KeysetPage;
+import br.com.concessionaria.carsservice.dto.SaleFilter;
+import br.com.concessionaria.carsservice.dto.SalesAggregate;
+import br.com.concessionaria.carsservice.dto.SalesGrouping;
 import br.com.concessionaria.carsservice.model.Sale;
 import br.com.concessionaria.carsservice.repository.SaleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static br.com.concessionaria.carsservice.repository.SaleSpecifications.*;
 
 /**
  * Serviço responsável pelas regras de negócio relacionadas às vendas.
@@ -16,9 +32,15 @@ import java.util.Optional;
 @Service // Indica que esta classe é um componente de serviço do Spring
 public class SaleService {
     
+    // Quantidade de vendas exportadas entre cada limpeza do contexto de persistência
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+    
     // Injeta automaticamente o repositório de vendas
     @Autowired
     private SaleRepository saleRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Retorna todas as vendas realizadas no sistema.
@@ -27,7 +49,107 @@ public class SaleService {
      * @return Lista completa de vendas registradas
      */
     public List<Sale> findAll() {
-        return saleRepository.findAll();
+        return saleRepository.findAllWithVehicle();
+    }
+
+    /**
+     * Busca uma página de vendas ordenada por (data, id) usando paginação por cursor.
+     * O custo de cada página é constante, mesmo nas páginas mais profundas do histórico.
+     * 
+     * @param filter Filtros opcionais (vendedor, cliente e período)
+     * @param cursor Cursor recebido na página anterior (nulo para a primeira página)
+     * @param size Quantidade máxima de vendas na página
+     * @return Página com as vendas e o cursor da próxima página
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public KeysetPage<Sale> findPage(SaleFilter filter, String cursor, int size) {
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+        if (cursor != null) {
+            int separator = cursor.lastIndexOf('_');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            afterDate = LocalDateTime.parse(cursor.substring(0, separator));
+            afterId = Long.valueOf(cursor.substring(separator + 1));
+        }
+
+        Specification<Sale> spec = Specification.where(fetchVehicle())
+                .and(filters(filter))
+                .and(after(afterDate, afterId));
+
+        // Busca um item a mais para saber se existe uma próxima página
+        List<Sale> rows = saleRepository.findBy(spec, query -> query.sortBy(Sort.by("date", "id")).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<Sale> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Sale last = items.get(items.size() - 1);
+            nextCursor = last.getDate() + "_" + last.getId();
+        }
+        return new KeysetPage<>(items, nextCursor, null);
+    }
+
+    /**
+     * Percorre todas as vendas filtradas, em ordem (data, id), sem carregá-las de uma vez.
+     * As vendas são lidas do banco por um cursor JDBC e descartadas da memória
+     * periodicamente, então exportar um ano de vendas usa memória constante.
+     * 
+     * @param filter Filtros opcionais (vendedor, cliente e período)
+     * @param consumer Ação executada para cada venda, na ordem em que chegam do banco
+     * @return Quantidade de vendas percorridas
+     */
+    @Transactional(readOnly = true)
+    public long forEachSale(SaleFilter filter, Consumer<Sale> consumer) {
+        LocalDateTime from = filter.getFrom() != null ? filter.getFrom().atStartOfDay() : null;
+        LocalDateTime to = filter.getTo() != null ? filter.getTo().plusDays(1).atStartOfDay() : null;
+        long count = 0;
+        try (Stream<Sale> sales = saleRepository.streamFiltered(filter.getSeller(), filter.getClient(), from, to)) {
+            Iterator<Sale> iterator = sales.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    private Specification<Sale> filters(SaleFilter filter) {
+        return Specification.where(hasSeller(filter.getSeller()))
+                .and(hasClient(filter.getClient()))
+                .and(dateFrom(filter.getFrom() != null ? filter.getFrom().atStartOfDay() : null))
+                .and(dateBefore(filter.getTo() != null ? filter.getTo().plusDays(1).atStartOfDay() : null));
+    }
+
+    /**
+     * Gera um relatório de vendas agregado no banco de dados.
+     * Apenas as linhas agregadas trafegam do banco para a aplicação,
+     * então o tamanho da resposta depende do número de grupos e não do número de vendas.
+     * 
+     * @param grouping Critério de agrupamento (vendedor, modelo, dia, mês ou tipo de cliente)
+     * @param from Primeiro dia do período (inclusive)
+     * @param to Último dia do período (inclusive)
+     * @return Quantidade de vendas e faturamento de cada grupo
+     */
+    public List<SalesAggregate> report(SalesGrouping grouping, LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return switch (grouping) {
+            case SELLER -> saleRepository.aggregateBySeller(start, end);
+            case MODEL -> saleRepository.aggregateByModel(start, end);
+            case CLIENT_TYPE -> saleRepository.aggregateByClientType(start, end);
+            case DAY -> saleRepository.aggregateByDay(start, end).stream()
+                    .map(row -> new SalesAggregate(String.format("%04d-%02d-%02d", row[0], row[1], row[2]),
+                            (Long) row[3], (Double) row[4]))
+                    .toList();
+            case MONTH -> saleRepository.aggregateByMonth(start, end).stream()
+                    .map(row -> new SalesAggregate(String.format("%04d-%02d", row[0], row[1]),
+                            (Long) row[2], (Double) row[3]))
+                    .toList();
+        };
     }
 
     /**
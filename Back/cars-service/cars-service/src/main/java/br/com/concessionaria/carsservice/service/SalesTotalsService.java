@@ -0,0 +1,137 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.dto.SalesAggregate;
+import br.com.concessionaria.carsservice.dto.SalesGrouping;
+import br.com.concessionaria.carsservice.model.Sale;
+import br.com.concessionaria.carsservice.model.SalesTotal;
+import br.com.concessionaria.carsservice.repository.SalesTotalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Serviço que mantém os totais de vendas acumulados (contadores materializados).
+ * Cada checkout soma suas vendas aos totais na mesma transação, então a leitura
+ * dos painéis é uma consulta direta à tabela de totais, sem varrer as vendas.
+ * O método {@link #rebuild()} recalcula tudo a partir da tabela de vendas.
+ *
+ * Todos os checkouts de um dia atualizam os mesmos grupos (o dia, o mês e o tipo de cliente),
+ * e a linha atualizada fica bloqueada até o commit. Para não enfileirar os checkouts nessas
+ * linhas, cada grupo é dividido em {@code cars.sales-totals.stripes} faixas: a transação soma
+ * em uma faixa sorteada e a leitura soma as faixas. As linhas são sempre atualizadas na mesma
+ * ordem (dimensão e grupo), o que evita deadlocks entre checkouts que disputam a mesma faixa.
+ */
+@Service
+public class SalesTotalsService {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    // Período amplo o suficiente para cobrir todo o histórico de vendas no recálculo
+    private static final LocalDate HISTORY_START = LocalDate.of(1970, 1, 1);
+    private static final LocalDate HISTORY_END = LocalDate.of(9999, 12, 30);
+
+    @Autowired
+    private SalesTotalRepository salesTotalRepository;
+
+    @Autowired
+    private SaleService saleService;
+
+    private final int stripes;
+
+    public SalesTotalsService(@Value("${cars.sales-totals.stripes:8}") int stripes) {
+        this.stripes = Math.max(1, stripes);
+    }
+
+    /**
+     * Soma as vendas informadas aos totais de todas as dimensões.
+     * Deve ser chamado dentro da transação que grava as vendas.
+     * 
+     * @param sales Vendas recém-registradas
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<Sale> sales) {
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        for (SalesGrouping dimension : SalesGrouping.values()) {
+            // Ordenado pelo grupo: toda transação bloqueia as linhas na mesma ordem
+            Map<String, SalesAggregate> deltas = new TreeMap<>();
+            for (Sale sale : sales) {
+                SalesAggregate delta = deltas.computeIfAbsent(keyOf(dimension, sale), key -> new SalesAggregate(key, 0L, 0.0));
+                delta.setCount(delta.getCount() + 1);
+                delta.setRevenue(delta.getRevenue() + revenueOf(sale));
+            }
+            for (SalesAggregate delta : deltas.values()) {
+                salesTotalRepository.insertIfAbsent(dimension.name(), delta.getKey(), stripe);
+                salesTotalRepository.increment(dimension, delta.getKey(), stripe, delta.getCount(), delta.getRevenue());
+            }
+        }
+    }
+
+    /**
+     * Lista os totais acumulados de uma dimensão.
+     * 
+     * @param dimension Critério de agrupamento
+     * @return Quantidade e faturamento de cada grupo, ordenados pela chave
+     */
+    public List<SalesAggregate> findTotals(SalesGrouping dimension) {
+        return salesTotalRepository.sumByDimension(dimension);
+    }
+
+    /**
+     * Busca o total acumulado de um único grupo (ex: um vendedor ou um dia).
+     * 
+     * @param dimension Critério de agrupamento
+     * @param key Valor do grupo
+     * @return Optional com o total, ou vazio se o grupo ainda não teve vendas
+     */
+    public Optional<SalesAggregate> findTotal(SalesGrouping dimension, String key) {
+        return salesTotalRepository.sumByGroup(dimension, key);
+    }
+
+    /**
+     * Recalcula todos os totais a partir da tabela de vendas.
+     * Usado para corrigir divergências ou popular os totais pela primeira vez.
+     * 
+     * @return Quantidade de grupos gravados
+     */
+    @Transactional
+    public int rebuild() {
+        salesTotalRepository.deleteAllTotals();
+        int groups = 0;
+        for (SalesGrouping dimension : SalesGrouping.values()) {
+            List<SalesTotal> totals = saleService.report(dimension, HISTORY_START, HISTORY_END).stream()
+                    .map(aggregate -> new SalesTotal(dimension, aggregate.getKey(), 0, aggregate.getCount(), aggregate.getRevenue()))
+                    .toList();
+            salesTotalRepository.saveAll(totals);
+            groups += totals.size();
+        }
+        return groups;
+    }
+
+    /**
+     * Chave do grupo de uma venda, no mesmo formato usado pelo relatório de vendas.
+     */
+    static String keyOf(SalesGrouping dimension, Sale sale) {
+        return switch (dimension) {
+            case SELLER -> sale.getSeller();
+            case MODEL -> sale.getVehicle().getModel();
+            case DAY -> sale.getDate().format(DAY);
+            case MONTH -> sale.getDate().format(MONTH);
+            case CLIENT_TYPE -> sale.getClientType() != null ? sale.getClientType() : "NAO_INFORMADO";
+        };
+    }
+
+    private static double revenueOf(Sale sale) {
+        return sale.getPrice() != null ? sale.getPrice() : sale.getVehicle().getBasePrice();
+    }
+}
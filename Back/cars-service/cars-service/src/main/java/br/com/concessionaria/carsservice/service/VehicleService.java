@@ -1,17 +1,51 @@
 package br.com.concessionaria.carsservice.service;
 
+import br.com.concessionaria.carsservice.cache.VehicleInvalidationChannel;
+import br.com.concessionaria.carsservice.config.CacheLoaderExecutorConfig;
+import br.com.concessionaria.carsservice.dto.CacheUsage;
+import br.com.concessionaria.carsservice.dto.KeysetPage;
+import br.com.concessionaria.carsservice.dto.VehicleFilter;
 import br.com.concessionaria.carsservice.model.Vehicle;
 import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.concessionaria.carsservice.repository.VehicleSpecifications.*;
 
 /**
  * Serviço responsável pelas regras de negócio relacionadas aos veículos.
  * Centraliza toda a lógica de manipulação de veículos, incluindo validações,
  * controle de disponibilidade e operações CRUD com regras específicas da concessionária.
+ *
+ * O cache guarda apenas veículos individuais: a consulta por ID é servida por um cache em memória
+ * (limitado em tamanho e com TTL) e pelo cache de segundo nível do Hibernate. As páginas do catálogo
+ * não ficam em cache, pois cada reserva ou liberação mudaria o resultado; elas são uma consulta
+ * indexada por página. Toda alteração de um veículo feita por este serviço ou pelos fluxos do
+ * carrinho descarta somente as entradas dos veículos alterados; os veículos devolvidos pelo cache
+ * são compartilhados e devem ser tratados como somente leitura.
+ *
+ * Com várias réplicas, cada alteração confirmada é publicada no
+ * {@link VehicleInvalidationChannel}; ao receber a mensagem de outra instância, o serviço
+ * descarta os veículos do cache da aplicação e do cache de segundo nível do Hibernate.
+ * Se o canal falhar, o TTL limita a defasagem.
  */
 @Service // Indica que esta classe é um componente de serviço do Spring
 public class VehicleService {
@@ -19,15 +53,63 @@ public class VehicleService {
     // Injeta automaticamente o repositório de veículos
     @Autowired
     private VehicleRepository vehicleRepository;
+    
+    // Veículo por ID; IDs inexistentes também ficam em cache (Optional vazio).
+    // Os caches são assíncronos: a consulta ao banco roda no executor das cargas dos caches, fora do
+    // bloqueio interno do mapa, o que evita prender a thread portadora com threads virtuais.
+    private final AsyncLoadingCache<Long, Optional<Vehicle>> details;
+    
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong remoteInvalidations = new AtomicLong();
+    
+    private final VehicleInvalidationChannel invalidationChannel;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public VehicleService(VehicleInvalidationChannel invalidationChannel,
+                          EntityManagerFactory entityManagerFactory,
+                          @Qualifier(CacheLoaderExecutorConfig.CACHE_LOADER_EXECUTOR) Executor executor,
+                          @Value("${cars.vehicle-cache.size:10000}") long cacheSize,
+                          @Value("${cars.vehicle-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.details = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .executor(executor)
+                .recordStats()
+                .buildAsync(id -> vehicleRepository.findById(id));
+        this.invalidationChannel = invalidationChannel;
+        this.entityManagerFactory = entityManagerFactory;
+        invalidationChannel.subscribe(this::applyRemoteInvalidation);
+    }
 
     /**
-     * Retorna todos os veículos cadastrados no sistema.
-     * Inclui tanto veículos disponíveis quanto já vendidos.
+     * Busca uma página do catálogo de veículos disponíveis usando paginação por cursor.
+     * Os filtros e o cursor são aplicados na consulta SQL, de modo que o custo por página
+     * não cresce com o tamanho do estoque.
      * 
-     * @return Lista completa de veículos no estoque
+     * @param filter Filtros opcionais (modelo, cor, ano, faixa de preço)
+     * @param afterId ID do último veículo da página anterior (nulo para a primeira página)
+     * @param size Quantidade máxima de veículos na página
+     * @param includeTotal Se verdadeiro, executa também a contagem total dos filtros
+     * @return Página com os veículos, o próximo cursor e opcionalmente o total
      */
-    public List<Vehicle> findAll() {
-        return vehicleRepository.findAll();
+    public KeysetPage<Vehicle> findAvailablePage(VehicleFilter filter, Long afterId, int size, boolean includeTotal) {
+        Specification<Vehicle> filters = Specification.where(isAvailable())
+                .and(hasModel(filter.getModel()))
+                .and(hasColor(filter.getColor()))
+                .and(hasYear(filter.getYear()))
+                .and(priceAtLeast(filter.getMinPrice()))
+                .and(priceAtMost(filter.getMaxPrice()));
+
+        // Busca um item a mais para saber se existe uma próxima página
+        List<Vehicle> rows = vehicleRepository.findBy(filters.and(idAfter(afterId)),
+                query -> query.sortBy(Sort.by("id")).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<Vehicle> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? String.valueOf(items.get(items.size() - 1).getId()) : null;
+        Long total = includeTotal ? vehicleRepository.count(filters) : null;
+
+        return new KeysetPage<>(items, nextCursor, total);
     }
 
     /**
@@ -37,7 +119,7 @@ public class VehicleService {
      * @return Optional contendo o veículo se encontrado, vazio caso contrário
      */
     public Optional<Vehicle> findById(Long id) {
-        return vehicleRepository.findById(id);
+        return join(details.get(id));
     }
 
     /**
@@ -50,7 +132,9 @@ public class VehicleService {
      * @return Veículo salvo com ID gerado (se novo) e campos atualizados
      */
     public Vehicle save(Vehicle vehicle) {
-        return vehicleRepository.save(vehicle);
+        Vehicle saved = vehicleRepository.save(vehicle);
+        evict(List.of(saved.getId()));
+        return saved;
     }
 
     /**
@@ -62,5 +146,94 @@ public class VehicleService {
      */
     public void deleteById(Long id) {
         vehicleRepository.deleteById(id);
+        evict(List.of(id));
+    }
+
+    /**
+     * Invalida os veículos informados (no cache da aplicação e no de segundo nível).
+     * Deve ser chamado por qualquer fluxo que altere veículos sem passar por {@link #save}
+     * (reservas, liberações e expirações do carrinho). Dentro de uma transação, a invalidação
+     * é repetida ao final (commit ou rollback), para que o cache não guarde nem o estado anterior
+     * recolocado por uma leitura concorrente nem um estado desfeito; só um commit é publicado
+     * para as outras réplicas.
+     * 
+     * @param vehicleIds IDs dos veículos alterados
+     */
+    public void evict(Collection<Long> vehicleIds) {
+        invalidateNowAndAfterCommit(List.copyOf(vehicleIds));
+    }
+
+    /**
+     * Invalida todo o cache, para alterações em massa em que os veículos afetados
+     * não são conhecidos individualmente.
+     */
+    public void evictAll() {
+        invalidateNowAndAfterCommit(List.of());
+    }
+
+    /**
+     * Estatísticas do cache de veículos nesta instância.
+     * 
+     * @return Uso do cache de detalhes
+     */
+    public List<CacheUsage> getCacheStats() {
+        long total = invalidations.get() + remoteInvalidations.get();
+        return List.of(CacheUsage.of("vehicle-details", details.synchronous(), total));
+    }
+
+    /**
+     * @return Invalidações recebidas de outras réplicas desde a inicialização
+     */
+    public long getRemoteInvalidations() {
+        return remoteInvalidations.get();
+    }
+
+    // Alteração feita em outra réplica: descarta as cópias locais sem publicar de novo
+    private void applyRemoteInvalidation(Collection<Long> vehicleIds) {
+        discard(vehicleIds);
+        remoteInvalidations.incrementAndGet();
+    }
+
+    private void invalidateNowAndAfterCommit(List<Long> vehicleIds) {
+        invalidations.incrementAndGet();
+        discard(vehicleIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // Também no rollback: a transação pode ter deixado no cache o estado que foi desfeito
+                    discard(vehicleIds);
+                    if (status == STATUS_COMMITTED) {
+                        invalidationChannel.publish(vehicleIds);
+                    }
+                }
+            });
+        } else {
+            invalidationChannel.publish(vehicleIds);
+        }
+    }
+
+    // Lista vazia descarta todos os veículos; caso contrário, apenas as entradas dos IDs informados
+    private void discard(Collection<Long> vehicleIds) {
+        jakarta.persistence.Cache secondLevel = entityManagerFactory.getCache();
+        if (vehicleIds.isEmpty()) {
+            details.synchronous().invalidateAll();
+            secondLevel.evict(Vehicle.class);
+        } else {
+            details.synchronous().invalidateAll(vehicleIds);
+            vehicleIds.forEach(id -> secondLevel.evict(Vehicle.class, id));
+        }
+    }
+
+    // Espera a carga do cache e devolve a exceção original da consulta, sem o invólucro
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,54 @@
+-- Esquema inicial do cars-service.
+-- Usa IF NOT EXISTS porque bancos existentes já foram criados pelo Hibernate (ddl-auto=update).
+-- Nesses bancos as tabelas existentes são mantidas como estão: colunas novas em tabelas antigas
+-- são adicionadas por migrações próprias (ALTER TABLE ... ADD COLUMN IF NOT EXISTS, ver V6).
+
+CREATE SEQUENCE IF NOT EXISTS vehicle_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cart_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sale_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS vehicle (
+    id BIGINT NOT NULL PRIMARY KEY,
+    year INTEGER,
+    base_price FLOAT(53),
+    color VARCHAR(255),
+    model VARCHAR(255),
+    available BOOLEAN
+);
+
+CREATE TABLE IF NOT EXISTS cart (
+    id BIGINT NOT NULL PRIMARY KEY,
+    vehicle_id BIGINT REFERENCES vehicle (id),
+    client VARCHAR(255),
+    added_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS sale (
+    id BIGINT NOT NULL PRIMARY KEY,
+    type VARCHAR(255),
+    client VARCHAR(255),
+    seller VARCHAR(255),
+    vehicle_id BIGINT REFERENCES vehicle (id),
+    date TIMESTAMP(6),
+    price FLOAT(53),
+    client_type VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key VARCHAR(300) NOT NULL PRIMARY KEY,
+    status INTEGER,
+    body TEXT,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS sales_total (
+    dimension VARCHAR(20) NOT NULL,
+    group_key VARCHAR(255) NOT NULL,
+    units BIGINT,
+    revenue FLOAT(53),
+    PRIMARY KEY (dimension, group_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_cart_added_at ON cart (added_at);
+CREATE INDEX IF NOT EXISTS idx_sale_date_id ON sale (date, id);
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at ON idempotency_key (created_at);
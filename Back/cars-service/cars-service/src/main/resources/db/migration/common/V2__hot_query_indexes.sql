@@ -0,0 +1,8 @@
+-- Índices das consultas mais frequentes.
+-- cart(client, vehicle_id): findByClient e findByClientAndVehicleId (carrinho ativo e item duplicado).
+-- sale(seller): filtro por vendedor na listagem, exportação e relatórios.
+--   (o filtro por período usa idx_sale_date_id, que já começa pela data)
+-- vehicle(available, model): catálogo de disponíveis, com ou sem filtro de modelo.
+CREATE INDEX IF NOT EXISTS idx_cart_client_vehicle ON cart (client, vehicle_id);
+CREATE INDEX IF NOT EXISTS idx_sale_seller ON sale (seller);
+CREATE INDEX IF NOT EXISTS idx_vehicle_available_model ON vehicle (available, model);
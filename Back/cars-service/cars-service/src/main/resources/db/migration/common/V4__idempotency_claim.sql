@@ -0,0 +1,5 @@
+-- Idempotency-Key reivindicado antes da execução.
+-- fingerprint: hash da requisição (caminho e parâmetros) que usou a chave; outra requisição
+--   com a mesma chave recebe 422 em vez da resposta gravada.
+-- status nulo: chave reivindicada e operação ainda em andamento (ou interrompida).
+ALTER TABLE idempotency_key ADD COLUMN IF NOT EXISTS fingerprint VARCHAR(64);
@@ -0,0 +1,19 @@
+-- Divide cada total de vendas em faixas (stripe) para que checkouts simultâneos não disputem
+-- a mesma linha: cada transação soma em uma faixa sorteada e a leitura soma as faixas do grupo.
+-- A tabela é recriada (em vez de trocar a chave primária) porque o nome da restrição difere
+-- entre PostgreSQL e H2; os totais existentes vão para a faixa 0.
+CREATE TABLE sales_total_striped (
+    dimension VARCHAR(20) NOT NULL,
+    group_key VARCHAR(255) NOT NULL,
+    stripe INTEGER NOT NULL,
+    units BIGINT,
+    revenue FLOAT(53),
+    PRIMARY KEY (dimension, group_key, stripe)
+);
+
+INSERT INTO sales_total_striped (dimension, group_key, stripe, units, revenue)
+SELECT dimension, group_key, 0, units, revenue FROM sales_total;
+
+DROP TABLE sales_total;
+
+ALTER TABLE sales_total_striped RENAME TO sales_total;
@@ -0,0 +1,6 @@
+-- Colunas adicionadas à tabela sale depois do esquema criado pelo Hibernate.
+-- Em bancos existentes o CREATE TABLE IF NOT EXISTS da V1 não altera a tabela sale já criada,
+-- então as colunas são adicionadas aqui. Vendas antigas ficam com os valores nulos:
+-- os relatórios usam o preço base do veículo quando price é nulo.
+ALTER TABLE sale ADD COLUMN IF NOT EXISTS price FLOAT(53);
+ALTER TABLE sale ADD COLUMN IF NOT EXISTS client_type VARCHAR(255);
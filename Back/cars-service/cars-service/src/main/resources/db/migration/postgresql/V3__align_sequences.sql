@@ -0,0 +1,6 @@
+-- Alinha as sequências de ID com os registros existentes (substitui o antigo data.sql).
+-- Bancos criados antes da troca de IDENTITY por SEQUENCE já possuem IDs gravados;
+-- a sequência precisa começar depois do maior ID para não gerar chaves duplicadas.
+SELECT setval('vehicle_seq', GREATEST((SELECT last_value FROM vehicle_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM vehicle)));
+SELECT setval('cart_seq', GREATEST((SELECT last_value FROM cart_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM cart)));
+SELECT setval('sale_seq', GREATEST((SELECT last_value FROM sale_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM sale)));
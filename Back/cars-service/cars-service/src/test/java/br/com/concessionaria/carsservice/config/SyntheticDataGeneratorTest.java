@@ -0,0 +1,87 @@
+package br.com.concessionaria.carsservice.config;
+
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import br.com.concessionaria.carsservice.service.PricingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confere que o gerador sintético é determinístico, que as vendas apontam para veículos vendidos
+ * com o preço da regra de precificação e que os IDs seguintes do Hibernate não colidem com a massa.
+ * Usa um banco próprio para não misturar a massa com os dados dos demais testes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sintetico;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE",
+        "seed.users=1_000",
+        "seed.threads=3",
+        "seed.batch-size=7"
+})
+class SyntheticDataGeneratorTest {
+
+    private static final String VEHICLES = "SELECT year, base_price, color, model, available FROM vehicle WHERE id >= ? ORDER BY id LIMIT ?";
+    private static final String SALES = "SELECT s.type, s.client, s.seller, s.price, s.client_type, s.vehicle_id - ? AS vehicle_index, "
+            + "v.available FROM sale s JOIN vehicle v ON v.id = s.vehicle_id WHERE s.vehicle_id >= ? ORDER BY s.id";
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sameSeedGeneratesSameRows() throws Exception {
+        long first = generator.generate(500, 0);
+        long second = generator.generate(500, 0);
+
+        assertTrue(second >= first + 500);
+        List<Map<String, Object>> firstRows = jdbcTemplate.queryForList(VEHICLES, first, 500);
+        assertEquals(500, firstRows.size());
+        assertEquals(firstRows, jdbcTemplate.queryForList(VEHICLES, second, 500));
+        assertEquals(50, firstRows.stream().filter(row -> !(Boolean) row.get("available")).count());
+    }
+
+    @Test
+    void salesReferenceSoldVehiclesAtPricedValue() throws Exception {
+        long first = generator.generate(200, 300);
+
+        List<Map<String, Object>> sales = jdbcTemplate.queryForList(SALES, first, first);
+        assertEquals(300, sales.size());
+        for (Map<String, Object> sale : sales) {
+            long index = ((Number) sale.get("vehicle_index")).longValue();
+            assertFalse((Boolean) sale.get("available"));
+            String client = (String) sale.get("client");
+            assertTrue(client.startsWith("50"), client);
+            assertTrue(((String) sale.get("seller")).matches("usuario(0|\\d*00)@email.com"), (String) sale.get("seller"));
+            Vehicle vehicle = generator.vehicle(index);
+            assertEquals(pricingService.calcularPrecoFinal(vehicle, (String) sale.get("client_type")),
+                    ((Number) sale.get("price")).doubleValue(), 0.001);
+        }
+    }
+
+    @Test
+    void hibernateIdsStartAfterGeneratedRange() throws Exception {
+        long first = generator.generate(120, 0);
+
+        // Mais que um bloco da sequência: consome o bloco já em memória e busca um novo
+        for (int i = 0; i < 60; i++) {
+            Vehicle saved = vehicleRepository.save(new Vehicle(null, 2024, 90000.0, "Azul", "Depois", true));
+            assertTrue(saved.getId() < first || saved.getId() >= first + 120, "ID " + saved.getId() + " dentro do intervalo gerado");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.concessionaria.carsservice.controller;
+
+import br.com.concessionaria.carsservice.client.StubUserLookupClient;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import br.com.concessionaria.carsservice.security.JwtUtil;
+import br.com.concessionaria.carsservice.service.CartService;
+import br.com.concessionaria.carsservice.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fixa a quantidade de instruções SQL de cada endpoint de carrinho e de vendas.
+ * Os cenários usam vários itens de propósito: se alguma associação voltar a ser
+ * carregada item a item (N+1), a contagem muda e o teste falha.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private StubUserLookupClient userLookupClient;
+
+    @Test
+    void cartEndpoints() throws Exception {
+        String client = "contagem-" + System.nanoTime();
+        List<Long> cartIds = reserve(client, 5);
+        Long freeVehicle = vehicleRepository.save(new Vehicle(null, 2024, 90000.0, "Prata", "Contagem", true)).getId();
+
+        assertStatements(1, get("/cart/" + cartIds.get(0)));
+        assertStatements(1, get("/cart/active/" + client));
+        // existe? + reserva condicional + leitura do veículo + insert do carrinho
+        assertStatements(4, post("/cart").param("vehicleId", freeVehicle.toString()).param("client", client));
+        // lê o veículo reservado + libera o veículo + remove o item
+        assertStatements(3, post("/cart/" + cartIds.get(1) + "/cancel"));
+        // itens com veículos + libera veículos + remove itens
+        assertStatements(3, post("/cart/clear/" + client));
+    }
+
+    @Test
+    void checkoutAllIsIndependentOfCartSize() throws Exception {
+        String client = "contagem-checkout-" + System.nanoTime();
+        userLookupClient.register(client, true);
+        reserve(client, 5);
+
+        // carrinhos com veículos + bloqueio + remoção + insert das vendas em lote
+        // + 2 instruções por grupo nos totais (5 dimensões, um grupo cada neste cenário)
+        assertStatements(14, post("/cart/checkout-all/" + client).param("seller", "contagem").param("type", "online"));
+    }
+
+    @Test
+    void salesEndpoints() throws Exception {
+        String client = "contagem-vendas-" + System.nanoTime();
+        reserve(client, 5);
+        mockMvc.perform(authorized(post("/cart/checkout-all/" + client).param("seller", "contagem").param("type", "online")))
+                .andExpect(status().isOk());
+
+        assertStatements(1, get("/sales"));
+        assertStatements(1, get("/sales/page").param("seller", "contagem").param("size", "3"));
+    }
+
+    private List<Long> reserve(String client, int items) {
+        List<Long> cartIds = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            Vehicle vehicle = vehicleRepository.save(new Vehicle(null, 2024, 100000.0 + i, "Preto", "Contagem", true));
+            cartIds.add(cartService.reserveVehicle(vehicle.getId(), client).orElseThrow().getId());
+        }
+        return cartIds;
+    }
+
+    private void assertStatements(int expected, MockHttpServletRequestBuilder request) throws Exception {
+        StatementCounter.reset();
+        mockMvc.perform(authorized(request)).andExpect(status().isOk());
+        StatementCounter.assertStatementCount(expected, request.buildRequest(null).getRequestURI());
+    }
+
+    private RequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + jwtUtil.getServiceToken());
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.concessionaria.carsservice.controller;
+
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import br.com.concessionaria.carsservice.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que os caminhos quentes publicam seus timers com o status da resposta
+ * (uma medição por execução, sem as repetições do Idempotency-Key)
+ * e que os gauges de estoque são registrados.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class HotPathMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void cartAddIsTimedByStatus() throws Exception {
+        Long vehicleId = vehicleRepository.save(new Vehicle(null, 2024, 80000.0, "Azul", "Metricas", true)).getId();
+        String client = "metricas-" + System.nanoTime();
+        long okBefore = count("cars.cart.add", "status", "200");
+        long rejectedBefore = count("cars.cart.add", "status", "400");
+
+        addToCart(vehicleId, client).andExpect(status().isOk());
+        addToCart(vehicleId, client).andExpect(status().isBadRequest());
+
+        assertEquals(okBefore + 1, count("cars.cart.add", "status", "200"));
+        assertEquals(rejectedBefore + 1, count("cars.cart.add", "status", "400"));
+        assertTrue(count("cars.jwt.validation", "outcome", "valid") >= 2);
+    }
+
+    @Test
+    void idempotentCheckoutIsTimedOncePerExecution() throws Exception {
+        String client = "metricas-checkout-" + System.nanoTime();
+        String key = "chave-" + client;
+        Long vehicleId = vehicleRepository.save(new Vehicle(null, 2024, 80000.0, "Azul", "Metricas", true)).getId();
+        addToCart(vehicleId, client).andExpect(status().isOk());
+        long before = count("cars.checkout.all", "status", "200");
+
+        checkoutAll(client, key).andExpect(status().isOk());
+        // A retentativa devolve a resposta gravada sem executar o checkout
+        checkoutAll(client, key).andExpect(status().isOk());
+
+        assertEquals(before + 1, count("cars.checkout.all", "status", "200"));
+    }
+
+    @Test
+    void inventoryGaugesAreRegistered() {
+        assertNotNull(meterRegistry.find("cars.carts.active").gauge());
+        assertNotNull(meterRegistry.find("cars.vehicles").tag("state", "available").gauge());
+        assertNotNull(meterRegistry.find("cars.vehicles").tag("state", "sold").gauge());
+        assertNotNull(meterRegistry.find("cars.cart.expiry.lag").gauge());
+    }
+
+    private ResultActions addToCart(Long vehicleId, String client) throws Exception {
+        return mockMvc.perform(post("/cart")
+                .param("vehicleId", vehicleId.toString())
+                .param("client", client)
+                .header("Authorization", "Bearer " + jwtUtil.getServiceToken()));
+    }
+
+    private ResultActions checkoutAll(String client, String key) throws Exception {
+        return mockMvc.perform(post("/cart/checkout-all/" + client)
+                .param("seller", "metricas")
+                .param("type", "online")
+                .header("Idempotency-Key", key)
+                .header("Authorization", "Bearer " + jwtUtil.getServiceToken()));
+    }
+
+    private long count(String metric, String tag, String value) {
+        Timer timer = meterRegistry.find(metric).tag(tag, value).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.concessionaria.carsservice.controller;
+
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import br.com.concessionaria.carsservice.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica a paginação por cursor do catálogo ({@code /vehicles/page}): limites do tamanho
+ * da página, fim da navegação e filtros combinados com o cursor; e o corte da lista
+ * completa ({@code /vehicles}, limitada a 20 itens nos testes) com o cursor da continuação.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class VehiclePagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void pagesWalkAvailableVehiclesUntilNullCursor() throws Exception {
+        String model = "Paginado-" + System.nanoTime();
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            expected.add(vehicleRepository.save(new Vehicle(null, 2024, 90000.0 + i, "Prata", model, true)).getId());
+        }
+        // Vendidos não aparecem no catálogo
+        vehicleRepository.save(new Vehicle(null, 2024, 90000.0, "Prata", model, false));
+
+        List<Long> paged = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/vehicles/page").param("model", model).param("size", "3");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = page(request);
+            page.get("items").forEach(item -> paged.add(item.get("id").asLong()));
+            pageSizes.add(page.get("items").size());
+            assertEquals(7, page.get("total").asLong());
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(List.of(3, 3, 1), pageSizes);
+        assertEquals(expected, paged);
+
+        // Página exata: sem próxima página, o cursor já vem nulo
+        JsonNode exact = page(get("/vehicles/page").param("model", model).param("size", "7").param("includeTotal", "false"));
+        assertEquals(7, exact.get("items").size());
+        assertTrue(exact.get("nextCursor").isNull());
+        assertTrue(exact.get("total").isNull());
+    }
+
+    @Test
+    void filtersCombineWithCursor() throws Exception {
+        String model = "Filtrado-" + System.nanoTime();
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            boolean match = i % 2 == 0 && i < 10;
+            Vehicle vehicle = vehicleRepository.save(new Vehicle(null, match ? 2023 : 2022, 100000.0 + i * 1000,
+                    i % 3 == 0 ? "Azul" : "Preto", model, true));
+            // ano 2023 e preço até 108000: índices 0, 2, 4, 6 e 8
+            if (match) {
+                expected.add(vehicle.getId());
+            }
+        }
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/vehicles/page").param("model", model).param("year", "2023")
+                    .param("maxPrice", "108000").param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = page(request);
+            page.get("items").forEach(item -> {
+                assertEquals(2023, item.get("year").asInt());
+                paged.add(item.get("id").asLong());
+            });
+            assertEquals(5, page.get("total").asLong());
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+        assertEquals(expected, paged);
+
+        // Cor e preço mínimo junto com um cursor no meio da lista
+        JsonNode page = page(get("/vehicles/page").param("model", model).param("color", "Azul")
+                .param("minPrice", "101000").param("cursor", String.valueOf(expected.get(0))));
+        List<Long> blue = new ArrayList<>();
+        page.get("items").forEach(item -> {
+            assertEquals("Azul", item.get("color").asText());
+            blue.add(item.get("id").asLong());
+        });
+        // Azuis: índices 0, 3, 6 e 9; o índice 0 fica antes do cursor e abaixo do preço mínimo
+        assertEquals(3, blue.size());
+        assertTrue(blue.stream().allMatch(id -> id > expected.get(0)));
+    }
+
+    @Test
+    void fullListIsBoundedAndContinuesOnThePage() throws Exception {
+        for (int i = 0; i < 21; i++) {
+            vehicleRepository.save(new Vehicle(null, 2024, 95000.0 + i, "Grafite", "Lista-" + System.nanoTime(), true));
+        }
+
+        MvcResult result = mockMvc.perform(authorized(get("/vehicles"))).andExpect(status().isOk()).andReturn();
+        List<Long> listed = new ArrayList<>();
+        objectMapper.readTree(result.getResponse().getContentAsString()).forEach(item -> listed.add(item.get("id").asLong()));
+        String cursor = result.getResponse().getHeader("X-Next-Cursor");
+
+        assertEquals(20, listed.size());
+        assertEquals(listed.stream().sorted().toList(), listed);
+        assertEquals(String.valueOf(listed.get(19)), cursor);
+        JsonNode next = page(get("/vehicles/page").param("cursor", cursor).param("size", "1"));
+        assertTrue(next.get("items").get(0).get("id").asLong() > listed.get(19));
+    }
+
+    @Test
+    void pageSizeOutsideBoundsIsRejected() throws Exception {
+        mockMvc.perform(authorized(get("/vehicles/page").param("size", "101"))).andExpect(status().isBadRequest());
+        mockMvc.perform(authorized(get("/vehicles/page").param("size", "0"))).andExpect(status().isBadRequest());
+        mockMvc.perform(authorized(get("/vehicles/page").param("size", "100"))).andExpect(status().isOk());
+        mockMvc.perform(authorized(get("/vehicles/page").param("size", "1"))).andExpect(status().isOk());
+    }
+
+    private JsonNode page(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(authorized(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + jwtUtil.getServiceToken());
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.concessionaria.carsservice.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Garante que as consultas mais frequentes usam os índices criados pelas migrações.
+ * O H2 marca leituras sem índice como "tableScan" no EXPLAIN; se um índice for removido
+ * ou a consulta mudar de forma a não usá-lo, o teste falha.
+ */
+@SpringBootTest
+class HotQueryIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // CartRepository.findByClient / findByClientAndVehicleId
+            "SELECT * FROM cart WHERE client = 'cliente'",
+            "SELECT * FROM cart WHERE client = 'cliente' AND vehicle_id = 1",
+            // Expiração de carrinhos
+            "SELECT id FROM cart WHERE added_at < TIMESTAMP '2024-01-01 00:00:00' ORDER BY added_at",
+            // Vendas por período e por vendedor
+            "SELECT * FROM sale WHERE date >= TIMESTAMP '2024-01-01 00:00:00' AND date < TIMESTAMP '2024-02-01 00:00:00'",
+            "SELECT * FROM sale WHERE seller = 'vendedor'",
+            // Catálogo de disponíveis, com e sem filtro de modelo
+            "SELECT * FROM vehicle WHERE available = TRUE",
+            "SELECT * FROM vehicle WHERE available = TRUE AND model = 'Onix'"
+    })
+    void hotQueryUsesIndex(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertFalse(plan.contains("tableScan"), () -> "Consulta sem índice:\n" + sql + "\n" + plan);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.concessionaria.carsservice.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Garante que um banco criado pelo Hibernate antes do Flyway (ddl-auto=update, IDs por IDENTITY)
+ * é migrado para o esquema atual. O contexto só sobe se as migrações deixarem o esquema
+ * compatível com as entidades (ddl-auto=validate).
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + LegacySchemaMigrationTest.LEGACY_URL)
+class LegacySchemaMigrationTest {
+
+    static final String LEGACY_URL =
+            "jdbc:h2:mem:concessionaria_legado;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Esquema gerado pelo Hibernate para as entidades anteriores às migrações, com uma venda gravada.
+     * Roda antes do contexto do Spring, que aplica as migrações na inicialização.
+     */
+    @BeforeAll
+    static void createLegacySchema() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(LEGACY_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE vehicle (available BOOLEAN, base_price FLOAT(53), year INTEGER, "
+                    + "id BIGINT GENERATED BY DEFAULT AS IDENTITY, color VARCHAR(255), model VARCHAR(255), PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE cart (added_at TIMESTAMP(6), id BIGINT GENERATED BY DEFAULT AS IDENTITY, "
+                    + "vehicle_id BIGINT, client VARCHAR(255), PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE sale (date TIMESTAMP(6), id BIGINT GENERATED BY DEFAULT AS IDENTITY, "
+                    + "vehicle_id BIGINT, client VARCHAR(255), seller VARCHAR(255), type VARCHAR(255), PRIMARY KEY (id))");
+            statement.execute("ALTER TABLE cart ADD CONSTRAINT fk_cart_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicle");
+            statement.execute("ALTER TABLE sale ADD CONSTRAINT fk_sale_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicle");
+            statement.execute("INSERT INTO vehicle (year, base_price, color, model, available) VALUES (2020, 70000, 'Preto', 'Legado', false)");
+            statement.execute("INSERT INTO sale (date, vehicle_id, client, seller, type) "
+                    + "VALUES (TIMESTAMP '2024-01-10 10:00:00', 1, 'cliente-legado', 'vendedor-legado', 'VENDA')");
+        }
+    }
+
+    @Test
+    void legacySchemaIsBaselinedAndMigrated() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_history_cars WHERE success AND version IS NOT NULL ORDER BY installed_rank", String.class);
+        assertEquals(List.of("0", "1", "2", "4", "5", "6"), versions);
+
+        // A venda antiga continua lá, com as colunas novas nulas
+        Map<String, Object> sale = jdbcTemplate.queryForMap("SELECT * FROM sale WHERE client = 'cliente-legado'");
+        assertNull(sale.get("price"));
+        assertNull(sale.get("client_type"));
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.model.Cart;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.CartRepository;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Garante que a reserva de veículo no carrinho tem exatamente um vencedor
+ * quando centenas de clientes disputam o mesmo veículo ao mesmo tempo.
+ */
+@SpringBootTest
+class CartServiceConcurrencyTest {
+
+    private static final int THREADS = 300;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void concurrentReservationsHaveExactlyOneWinner() throws Exception {
+        Vehicle vehicle = vehicleRepository.save(new Vehicle(null, 2024, 100000.0, "Preto", "Disputado", true));
+        Long vehicleId = vehicle.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<Cart>>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String client = "cliente-" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return cartService.reserveVehicle(vehicleId, client);
+            }));
+        }
+
+        start.countDown();
+        int winners = 0;
+        for (Future<Optional<Cart>> result : results) {
+            if (result.get().isPresent()) {
+                winners++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, winners);
+        assertEquals(1, cartRepository.findAll().stream()
+                .filter(cart -> cart.getVehicle().getId().equals(vehicleId))
+                .count());
+        assertFalse(vehicleRepository.findById(vehicleId).orElseThrow().getAvailable());
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.model.Cart;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.CartRepository;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que a fila de expiração do carrinho só reflete transações confirmadas:
+ * uma reserva desfeita não deixa prazo agendado para um carrinho que nunca foi gravado.
+ * E que a limpeza manual de carrinhos vencidos não libera o veículo de um carrinho
+ * bloqueado por um checkout em andamento.
+ */
+@SpringBootTest
+class CartServiceTransactionTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartExpiryScheduler cartExpiryScheduler;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CartExpirationService cartExpirationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void committedReservationIsScheduledAndCancelRemovesIt() {
+        Long vehicleId = vehicleRepository.save(new Vehicle(null, 2024, 81000.0, "Prata", "Agendado", true)).getId();
+
+        Cart cart = cartService.reserveVehicle(vehicleId, "cliente-agendado").orElseThrow();
+        assertTrue(cartExpiryScheduler.isScheduled(cart.getId()));
+
+        cartService.cancel(cart.getId());
+        assertFalse(cartExpiryScheduler.isScheduled(cart.getId()));
+    }
+
+    @Test
+    void rolledBackReservationLeavesNothingScheduled() {
+        Long vehicleId = vehicleRepository.save(new Vehicle(null, 2024, 82000.0, "Prata", "Desfeito", true)).getId();
+
+        Cart cart = transactionTemplate.execute(status -> {
+            Cart reserved = cartService.reserveVehicle(vehicleId, "cliente-desfeito").orElseThrow();
+            status.setRollbackOnly();
+            return reserved;
+        });
+
+        assertFalse(cartExpiryScheduler.isScheduled(cart.getId()));
+        assertFalse(cartRepository.existsById(cart.getId()));
+        assertTrue(vehicleRepository.findById(vehicleId).orElseThrow().getAvailable());
+    }
+
+    @Test
+    void manualCleanupSkipsCartsLockedByCheckout() throws Exception {
+        Vehicle vehicle = vehicleRepository.save(new Vehicle(null, 2024, 83000.0, "Prata", "Bloqueado", false));
+        Long cartId = cartRepository.save(new Cart(null, vehicle, "cliente-bloqueado", LocalDateTime.now().minusMinutes(5))).getId();
+
+        // Outra transação segura a linha do carrinho, como o checkout faz com claimByIds
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService checkout = Executors.newSingleThreadExecutor();
+        Future<?> holder = checkout.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            assertEquals(List.of(cartId), cartRepository.claimByIds(List.of(cartId)));
+            locked.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            assertTrue(locked.await(30, TimeUnit.SECONDS));
+
+            cartExpirationService.cleanExpiredCartsManually();
+
+            assertTrue(cartRepository.existsById(cartId));
+            assertFalse(vehicleRepository.findById(vehicle.getId()).orElseThrow().getAvailable());
+        } finally {
+            release.countDown();
+            holder.get(30, TimeUnit.SECONDS);
+            checkout.shutdown();
+        }
+
+        cartExpirationService.cleanExpiredCartsManually();
+
+        assertFalse(cartRepository.existsById(cartId));
+        assertTrue(vehicleRepository.findById(vehicle.getId()).orElseThrow().getAvailable());
+    }
+}
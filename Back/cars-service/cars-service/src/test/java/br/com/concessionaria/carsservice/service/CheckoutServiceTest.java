@@ -0,0 +1,117 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.client.StubUserLookupClient;
+import br.com.concessionaria.carsservice.dto.CheckoutResult;
+import br.com.concessionaria.carsservice.model.Cart;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.CartRepository;
+import br.com.concessionaria.carsservice.repository.SaleRepository;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o checkout em lote: vendas criadas, carrinhos removidos
+ * e veículos de reservas expiradas liberados na mesma transação.
+ * Itens bloqueados por outra transação não são confundidos com carrinhos vazios ou expirados.
+ */
+@SpringBootTest
+class CheckoutServiceTest {
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private StubUserLookupClient userLookupClient;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void checkoutAllSellsValidItemsAndReleasesExpiredOnes() {
+        String client = "frota-" + System.nanoTime();
+        userLookupClient.register(client, true);
+        for (int i = 0; i < 10; i++) {
+            Vehicle vehicle = vehicleRepository.save(new Vehicle(null, 2024, 100000.0, "Preto", "Frota", true));
+            cartService.reserveVehicle(vehicle.getId(), client);
+        }
+        Vehicle expiredVehicle = vehicleRepository.save(new Vehicle(null, 2024, 100000.0, "Preto", "Frota", false));
+        cartRepository.save(new Cart(null, expiredVehicle, client, LocalDateTime.now().minusMinutes(5)));
+        long salesBefore = saleRepository.count();
+
+        CheckoutResult result = checkoutService.checkoutAll(client, "vendedor", "online", checkoutService.clientTypesOfClient(client));
+
+        assertEquals(10, result.getSoldVehicles());
+        assertEquals(1, result.getExpiredCarts());
+        assertEquals(10 * 100000.0 * 0.90, result.getTotal(), 0.001);
+        assertEquals(salesBefore + 10, saleRepository.count());
+        assertTrue(cartRepository.findByClient(client).isEmpty());
+        assertTrue(vehicleRepository.findById(expiredVehicle.getId()).orElseThrow().getAvailable());
+    }
+
+    @Test
+    void cartLockedByAnotherTransactionIsReportedAndNothingIsWritten() throws Exception {
+        String client = "bloqueado-" + System.nanoTime();
+        List<Long> cartIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Vehicle vehicle = vehicleRepository.save(new Vehicle(null, 2024, 100000.0, "Prata", "Bloqueado", true));
+            cartIds.add(cartService.reserveVehicle(vehicle.getId(), client).orElseThrow().getId());
+        }
+        long salesBefore = saleRepository.count();
+
+        // Outra transação (checkout simultâneo ou expiração) segura o bloqueio de um dos itens
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            cartRepository.claimByIds(List.of(cartIds.get(1)));
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        locked.await();
+        CheckoutResult blocked;
+        try {
+            blocked = checkoutService.checkoutAll(client, "vendedor", "online", checkoutService.clientTypesOfClient(client));
+        } finally {
+            release.countDown();
+            holder.get();
+        }
+
+        assertEquals(1, blocked.getLockedCarts());
+        assertEquals(0, blocked.getSoldVehicles());
+        assertEquals(0, blocked.getExpiredCarts());
+        assertEquals(salesBefore, saleRepository.count());
+        assertEquals(3, cartRepository.findByClient(client).size());
+
+        // Sem o bloqueio, a mesma chamada vende todos os itens
+        CheckoutResult retried = checkoutService.checkoutAll(client, "vendedor", "online", checkoutService.clientTypesOfClient(client));
+        assertEquals(3, retried.getSoldVehicles());
+        assertEquals(0, retried.getLockedCarts());
+    }
+}
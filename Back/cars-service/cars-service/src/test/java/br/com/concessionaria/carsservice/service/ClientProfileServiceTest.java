@@ -0,0 +1,100 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.client.StubUserLookupClient;
+import br.com.concessionaria.carsservice.config.CacheLoaderExecutorConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que o tipo dos clientes é resolvido em lote, reaproveitado pelo cache
+ * e consultado uma única vez quando várias requisições pedem o mesmo cliente,
+ * sempre fora de transação e no pool limitado das cargas dos caches.
+ */
+@SpringBootTest
+class ClientProfileServiceTest {
+
+    @Autowired
+    private ClientProfileService clientProfileService;
+
+    @Autowired
+    private StubUserLookupClient userLookupClient;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier(CacheLoaderExecutorConfig.CACHE_LOADER_EXECUTOR)
+    private Executor cacheLoaderExecutor;
+
+    @Test
+    void resolvesManyClientsInOneCallAndCachesThem() {
+        String suffix = "-" + System.nanoTime();
+        userLookupClient.register("vip" + suffix, true);
+        userLookupClient.register("comum" + suffix, false);
+        int callsBefore = userLookupClient.getCalls();
+
+        Map<String, String> types = clientProfileService.resolveClientTypes(
+                List.of("vip" + suffix, "comum" + suffix, "desconhecido" + suffix));
+        clientProfileService.resolveClientTypes(List.of("vip" + suffix, "desconhecido" + suffix));
+
+        assertEquals("VIP", types.get("vip" + suffix));
+        assertEquals("COMUM", types.get("comum" + suffix));
+        assertEquals("COMUM", types.get("desconhecido" + suffix));
+        assertEquals(callsBefore + 1, userLookupClient.getCalls());
+    }
+
+    @Test
+    void lookupsRunOnTheBoundedLoaderPoolWithPlatformThreads() {
+        ThreadPoolExecutor pool = assertInstanceOf(ThreadPoolExecutor.class, cacheLoaderExecutor);
+        assertEquals(8, pool.getMaximumPoolSize());
+        assertEquals(1000, pool.getQueue().remainingCapacity() + pool.getQueue().size());
+        long tasksBefore = pool.getTaskCount();
+
+        clientProfileService.resolveClientTypes(List.of("pool-" + System.nanoTime()));
+
+        assertTrue(pool.getTaskCount() > tasksBefore);
+    }
+
+    @Test
+    void concurrentRequestsForSameClientShareOneLookup() {
+        String client = "concorrente-" + System.nanoTime();
+        userLookupClient.register(client, true);
+        int callsBefore = userLookupClient.getCalls();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<Map<String, String>>> futures = IntStream.range(0, 64)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> clientProfileService.resolveClientTypes(List.of(client)), executor))
+                    .toList();
+            futures.forEach(future -> assertEquals("VIP", future.join().get(client)));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(callsBefore + 1, userLookupClient.getCalls());
+    }
+
+    @Test
+    void lookupInsideTransactionIsRejected() {
+        // Uma consulta lenta ao user-service seguraria a conexão da transação
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(
+                status -> clientProfileService.resolveClientTypes(List.of("transacao-" + System.nanoTime()))));
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garante que requisições repetidas com o mesmo Idempotency-Key executam a operação uma única vez,
+ * que a chave fica vinculada à requisição e reivindicada antes da execução (inclusive entre réplicas)
+ * e que conflitos temporários (409) e falhas não ficam gravados na chave.
+ */
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    private static final String REQUEST = "10|vendedor|online";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    void concurrentDuplicatesAndRetriesShareOneExecution() throws Exception {
+        String key = "chave-" + System.nanoTime();
+        AtomicInteger executions = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<?>>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.execute("checkout", key, REQUEST, () -> {
+                    executions.incrementAndGet();
+                    sleep(200);
+                    return ResponseEntity.ok("Venda realizada");
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<ResponseEntity<?>> result : results) {
+            assertEquals("Venda realizada", result.get().getBody());
+        }
+        executor.shutdown();
+
+        ResponseEntity<?> retry = idempotencyService.execute("checkout", key, REQUEST, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("Outra resposta");
+        });
+
+        assertEquals("Venda realizada", retry.getBody());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void conflictResponsesAreNotStored() {
+        String key = "chave-conflito-" + System.nanoTime();
+        AtomicInteger executions = new AtomicInteger();
+
+        ResponseEntity<?> first = idempotencyService.execute("checkout", key, REQUEST, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Carrinho em processamento");
+        });
+        ResponseEntity<?> retry = idempotencyService.execute("checkout", key, REQUEST, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("Venda realizada");
+        });
+
+        assertEquals(409, first.getStatusCode().value());
+        assertEquals("Venda realizada", retry.getBody());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        String key = "chave-reuso-" + System.nanoTime();
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyService.execute("checkout", key, REQUEST, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("Venda do carrinho 10");
+        });
+        ResponseEntity<?> otherCart = idempotencyService.execute("checkout", key, "11|vendedor|online", () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("Venda do carrinho 11");
+        });
+        ResponseEntity<?> retry = idempotencyService.execute("checkout", key, REQUEST, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("Outra resposta");
+        });
+
+        assertEquals(422, otherCart.getStatusCode().value());
+        assertEquals("Venda do carrinho 10", retry.getBody());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void keyClaimedByAnotherReplicaIsNotExecutedUntilClaimExpires() {
+        String key = "chave-replica-" + System.nanoTime();
+        String id = "checkout:" + key;
+        String fingerprint = IdempotencyService.fingerprint("checkout", REQUEST);
+        AtomicInteger executions = new AtomicInteger();
+
+        // Outra réplica reivindicou a chave e ainda está executando o checkout
+        idempotencyRecordRepository.insertPending(id, fingerprint, LocalDateTime.now());
+        ResponseEntity<?> duplicate = idempotencyService.execute("checkout", key, REQUEST, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("Venda realizada");
+        });
+        assertEquals(409, duplicate.getStatusCode().value());
+        assertEquals(0, executions.get());
+
+        // A réplica caiu no meio da operação: após o tempo de expiração a retentativa assume a chave
+        idempotencyRecordRepository.deleteById(id);
+        idempotencyRecordRepository.insertPending(id, fingerprint, LocalDateTime.now().minusMinutes(5));
+        ResponseEntity<?> retry = idempotencyService.execute("checkout", key, REQUEST, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("Venda realizada");
+        });
+        assertEquals("Venda realizada", retry.getBody());
+        assertEquals(1, executions.get());
+        assertEquals(200, idempotencyRecordRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void failedExecutionReleasesTheKey() {
+        String key = "chave-falha-" + System.nanoTime();
+
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("checkout", key, REQUEST, () -> {
+            throw new IllegalStateException("falha no checkout");
+        }));
+        assertTrue(idempotencyRecordRepository.findById("checkout:" + key).isEmpty());
+
+        ResponseEntity<?> retry = idempotencyService.execute("checkout", key, REQUEST, () -> ResponseEntity.ok("Venda realizada"));
+        assertEquals("Venda realizada", retry.getBody());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
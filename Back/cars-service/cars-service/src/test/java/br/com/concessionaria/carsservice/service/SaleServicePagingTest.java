@@ -0,0 +1,74 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.dto.KeysetPage;
+import br.com.concessionaria.carsservice.dto.SaleFilter;
+import br.com.concessionaria.carsservice.model.Sale;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.SaleRepository;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifica a paginação por cursor (data, id) e a exportação em streaming das vendas.
+ */
+@SpringBootTest
+class SaleServicePagingTest {
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void pagesAndExportWalkAllSalesInOrder() {
+        String seller = "paginador-" + System.nanoTime();
+        Vehicle vehicle = vehicleRepository.save(new Vehicle(null, 2020, 50000.0, "Prata", "Onix", false));
+        List<Sale> sales = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2002, 5, 1, 10, 0);
+        for (int i = 0; i < 23; i++) {
+            // Vendas em pares com a mesma data, para exercitar o desempate pelo ID
+            sales.add(new Sale(null, "online", "c" + i, seller, vehicle, base.plusHours(i / 2), 50000.0, "COMUM"));
+        }
+        saleRepository.saveAll(sales);
+
+        SaleFilter filter = new SaleFilter();
+        filter.setSeller(seller);
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<Sale> page = saleService.findPage(filter, cursor, 5);
+            page.getItems().forEach(sale -> paged.add(sale.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<Long> streamed = new ArrayList<>();
+        long count = saleService.forEachSale(filter, sale -> streamed.add(sale.getId()));
+
+        List<Long> expected = saleRepository.findAll().stream()
+                .filter(sale -> seller.equals(sale.getSeller()))
+                .sorted((a, b) -> a.getDate().equals(b.getDate()) ? a.getId().compareTo(b.getId()) : a.getDate().compareTo(b.getDate()))
+                .map(Sale::getId)
+                .toList();
+        assertEquals(5, pages);
+        assertEquals(expected, paged);
+        assertEquals(23, count);
+        assertEquals(expected, streamed);
+        assertNull(saleService.findPage(filter, null, 50).getNextCursor());
+    }
+}
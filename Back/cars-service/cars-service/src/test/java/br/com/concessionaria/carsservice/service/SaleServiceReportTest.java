@@ -0,0 +1,61 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.dto.SalesAggregate;
+import br.com.concessionaria.carsservice.dto.SalesGrouping;
+import br.com.concessionaria.carsservice.model.Sale;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.SaleRepository;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica as agregações do relatório de vendas calculadas no banco.
+ */
+@SpringBootTest
+class SaleServiceReportTest {
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void aggregatesRevenueAndCountPerGroup() {
+        Vehicle civic = vehicleRepository.save(new Vehicle(null, 2001, 100000.0, "Preto", "Civic", false));
+        Vehicle onix = vehicleRepository.save(new Vehicle(null, 2001, 50000.0, "Branco", "Onix", false));
+        saleRepository.saveAll(List.of(
+                new Sale(null, "online", "c1", "ana", civic, LocalDateTime.of(2001, 3, 10, 9, 0), 90000.0, "VIP"),
+                new Sale(null, "online", "c2", "ana", onix, LocalDateTime.of(2001, 3, 10, 15, 0), 47500.0, "COMUM"),
+                new Sale(null, "fisica", "c3", "bia", civic, LocalDateTime.of(2001, 4, 2, 11, 0), null, null)));
+        LocalDate from = LocalDate.of(2001, 1, 1);
+        LocalDate to = LocalDate.of(2001, 12, 31);
+
+        List<SalesAggregate> bySeller = saleService.report(SalesGrouping.SELLER, from, to);
+        assertEquals(List.of(new SalesAggregate("ana", 2L, 137500.0), new SalesAggregate("bia", 1L, 100000.0)), bySeller);
+
+        List<SalesAggregate> byModel = saleService.report(SalesGrouping.MODEL, from, to);
+        assertEquals(List.of(new SalesAggregate("Civic", 2L, 190000.0), new SalesAggregate("Onix", 1L, 47500.0)), byModel);
+
+        List<SalesAggregate> byDay = saleService.report(SalesGrouping.DAY, from, to);
+        assertEquals(List.of(new SalesAggregate("2001-03-10", 2L, 137500.0), new SalesAggregate("2001-04-02", 1L, 100000.0)), byDay);
+
+        List<SalesAggregate> byMonth = saleService.report(SalesGrouping.MONTH, from, to);
+        assertEquals(List.of(new SalesAggregate("2001-03", 2L, 137500.0), new SalesAggregate("2001-04", 1L, 100000.0)), byMonth);
+
+        List<SalesAggregate> byClientType = saleService.report(SalesGrouping.CLIENT_TYPE, from, to);
+        assertEquals(3, byClientType.size());
+        assertEquals(new SalesAggregate("NAO_INFORMADO", 1L, 100000.0), byClientType.get(0));
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.dto.SalesAggregate;
+import br.com.concessionaria.carsservice.dto.SalesGrouping;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Confere que os totais acumulados no checkout batem com a agregação
+ * calculada diretamente sobre a tabela de vendas, e que o recálculo não os altera,
+ * inclusive com checkouts simultâneos somando nas faixas dos mesmos grupos.
+ */
+@SpringBootTest
+class SalesTotalsConsistencyTest {
+
+    @Autowired
+    private SalesTotalsService salesTotalsService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void incrementalTotalsMatchSalesTable() {
+        salesTotalsService.rebuild();
+
+        String[] models = {"Onix", "Civic", "Compass"};
+        for (int i = 0; i < 6; i++) {
+            String client = "cliente-totais-" + (i % 2);
+            Vehicle vehicle = vehicleRepository.save(new Vehicle(null, 2024, 80000.0 + i * 1000, i % 2 == 0 ? "Branco" : "Preto", models[i % 3], true));
+            cartService.reserveVehicle(vehicle.getId(), client);
+        }
+        checkoutService.checkoutAll("cliente-totais-0", "ana", "online", checkoutService.clientTypesOfClient("cliente-totais-0"));
+        checkoutService.checkoutAll("cliente-totais-1", "bia", "fisica", checkoutService.clientTypesOfClient("cliente-totais-1"));
+
+        assertConsistent();
+        salesTotalsService.rebuild();
+        assertConsistent();
+    }
+
+    @Test
+    void concurrentCheckoutsOverTheSameGroupsKeepTotalsConsistent() throws Exception {
+        salesTotalsService.rebuild();
+
+        // Mesmos modelos em ordens diferentes em cada carrinho: os checkouts disputam as mesmas linhas
+        String[] models = {"Onix", "Civic", "Compass", "Kwid"};
+        int clients = 6;
+        for (int c = 0; c < clients; c++) {
+            for (int m = 0; m < models.length; m++) {
+                String model = models[(c % 2 == 0) ? m : models.length - 1 - m];
+                Vehicle vehicle = vehicleRepository.save(new Vehicle(null, 2024, 60000.0 + m * 500, "Prata", model, true));
+                cartService.reserveVehicle(vehicle.getId(), "cliente-faixas-" + c);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> checkouts = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                String client = "cliente-faixas-" + c;
+                Map<String, String> clientTypes = checkoutService.clientTypesOfClient(client);
+                checkouts.add(executor.submit(() -> checkoutService.checkoutAll(client, "carla", "online", clientTypes)));
+            }
+            for (Future<?> checkout : checkouts) {
+                checkout.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertConsistent();
+    }
+
+    private void assertConsistent() {
+        for (SalesGrouping dimension : SalesGrouping.values()) {
+            Map<String, SalesAggregate> expected = byKey(saleService.report(dimension, LocalDate.of(1970, 1, 1), LocalDate.of(9999, 12, 30)));
+            Map<String, SalesAggregate> actual = byKey(salesTotalsService.findTotals(dimension));
+
+            assertEquals(expected.keySet(), actual.keySet(), dimension.name());
+            for (SalesAggregate total : actual.values()) {
+                SalesAggregate reference = expected.get(total.getKey());
+                assertNotNull(reference);
+                assertEquals(reference.getCount(), total.getCount(), dimension + " " + total.getKey());
+                assertEquals(reference.getRevenue(), total.getRevenue(), 0.01, dimension + " " + total.getKey());
+            }
+        }
+    }
+
+    private static Map<String, SalesAggregate> byKey(List<SalesAggregate> aggregates) {
+        return aggregates.stream().collect(Collectors.toMap(SalesAggregate::getKey, aggregate -> aggregate));
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.cache.LocalVehicleInvalidationChannel;
+import br.com.concessionaria.carsservice.dto.KeysetPage;
+import br.com.concessionaria.carsservice.dto.VehicleFilter;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.repository.VehicleRepository;
+import br.com.concessionaria.carsservice.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o cache de segundo nível de {@link Vehicle}, as páginas do catálogo lidas direto do banco,
+ * a invalidação restrita aos veículos reservados ou liberados pelo carrinho
+ * e a invalidação vinda de outras réplicas pelo canal em memória.
+ */
+@SpringBootTest
+class VehicleSecondLevelCacheTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LocalVehicleInvalidationChannel invalidationChannel;
+
+    @Test
+    void findByIdIsServedFromSecondLevelCache() {
+        Long id = vehicleRepository.save(new Vehicle(null, 2023, 70000.0, "Cinza", "SegundoNivel", true)).getId();
+        vehicleRepository.findById(id);
+
+        StatementCounter.reset();
+        assertTrue(vehicleRepository.findById(id).isPresent());
+        StatementCounter.assertStatementCount(0, "findById com o veículo no cache de segundo nível");
+    }
+
+    @Test
+    void catalogPageIsReadFromTheDatabaseAndKeepsVehiclesCached() {
+        String model = "Consulta-" + System.nanoTime();
+        Long id = vehicleRepository.save(new Vehicle(null, 2023, 71000.0, "Cinza", model, true)).getId();
+        VehicleFilter filter = new VehicleFilter();
+        filter.setModel(model);
+        vehicleService.findById(id);
+
+        // Uma consulta por página, e a reserva de outro veículo não descarta o veículo em cache
+        StatementCounter.reset();
+        KeysetPage<Vehicle> page = vehicleService.findAvailablePage(filter, null, 10, false);
+        StatementCounter.assertStatementCount(1, "página do catálogo");
+        assertEquals(1, page.getItems().size());
+
+        Long other = vehicleRepository.save(new Vehicle(null, 2023, 72000.0, "Cinza", model, true)).getId();
+        assertEquals(2, vehicleService.findAvailablePage(filter, null, 10, false).getItems().size());
+        cartService.reserveVehicle(other, "cliente-consulta").orElseThrow();
+
+        assertEquals(List.of(id), vehicleService.findAvailablePage(filter, null, 10, false).getItems().stream().map(Vehicle::getId).toList());
+        StatementCounter.reset();
+        vehicleService.findById(id);
+        StatementCounter.assertStatementCount(0, "veículo não alterado pela reserva de outro");
+    }
+
+    @Test
+    void reservingAndReleasingOneVehicleKeepsTheOthersCached() {
+        String model = "Reserva-" + System.nanoTime();
+        Long reserved = vehicleRepository.save(new Vehicle(null, 2023, 75000.0, "Cinza", model, true)).getId();
+        Long untouched = vehicleRepository.save(new Vehicle(null, 2023, 76000.0, "Cinza", model, true)).getId();
+        vehicleService.findById(reserved);
+        vehicleService.findById(untouched);
+        VehicleFilter filter = new VehicleFilter();
+        filter.setModel(model);
+        assertEquals(2, vehicleService.findAvailablePage(filter, null, 10, true).getItems().size());
+
+        Long cartId = cartService.reserveVehicle(reserved, "cliente-segundo-nivel").orElseThrow().getId();
+
+        assertTrue(entityManagerFactory.getCache().contains(Vehicle.class, untouched));
+        assertFalse(vehicleRepository.findById(reserved).orElseThrow().getAvailable());
+        assertEquals(List.of(untouched), vehicleService.findAvailablePage(filter, null, 10, true).getItems().stream().map(Vehicle::getId).toList());
+
+        vehicleService.findById(reserved);
+        cartService.cancel(cartId);
+
+        assertTrue(entityManagerFactory.getCache().contains(Vehicle.class, untouched));
+        assertTrue(vehicleRepository.findById(reserved).orElseThrow().getAvailable());
+        assertEquals(2, vehicleService.findAvailablePage(filter, null, 10, true).getItems().size());
+    }
+
+    @Test
+    void remoteInvalidationEvictsLocalCopies() {
+        Long id = vehicleRepository.save(new Vehicle(null, 2023, 73000.0, "Cinza", "Remoto", true)).getId();
+        vehicleService.findById(id);
+        assertTrue(entityManagerFactory.getCache().contains(Vehicle.class, id));
+        long before = vehicleService.getRemoteInvalidations();
+
+        invalidationChannel.receive(List.of(id));
+
+        assertFalse(entityManagerFactory.getCache().contains(Vehicle.class, id));
+        assertEquals(before + 1, vehicleService.getRemoteInvalidations());
+        long missesBefore = vehicleService.getCacheStats().get(0).getMisses();
+        vehicleService.findById(id);
+        assertEquals(missesBefore + 1, vehicleService.getCacheStats().get(0).getMisses());
+    }
+
+    @Test
+    void committedChangesArePublishedToOtherReplicas() {
+        Vehicle vehicle = vehicleService.save(new Vehicle(null, 2023, 74000.0, "Cinza", "Publicado", true));
+
+        assertTrue(invalidationChannel.getPublished().contains(List.of(vehicle.getId())));
+    }
+}
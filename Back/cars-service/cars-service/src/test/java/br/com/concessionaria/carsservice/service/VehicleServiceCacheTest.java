@@ -0,0 +1,89 @@
+package br.com.concessionaria.carsservice.service;
+
+import br.com.concessionaria.carsservice.dto.CacheUsage;
+import br.com.concessionaria.carsservice.dto.VehicleFilter;
+import br.com.concessionaria.carsservice.model.Cart;
+import br.com.concessionaria.carsservice.model.Vehicle;
+import br.com.concessionaria.carsservice.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garante que as leituras repetidas de um veículo não chegam ao banco, que as páginas do catálogo
+ * custam uma consulta e que toda alteração de disponibilidade (reserva, cancelamento, edição)
+ * invalida o cache.
+ */
+@SpringBootTest
+class VehicleServiceCacheTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        Vehicle vehicle = vehicleService.save(new Vehicle(null, 2024, 80000.0, "Azul", "Cacheado", true));
+        vehicleService.findById(vehicle.getId());
+        availableIds("Cacheado");
+        long hitsBefore = detailsUsage().getHits();
+
+        StatementCounter.reset();
+        assertTrue(vehicleService.findById(vehicle.getId()).isPresent());
+        StatementCounter.assertStatementCount(0, "leitura repetida do veículo");
+
+        // As páginas não ficam em cache: cada uma é uma única consulta
+        StatementCounter.reset();
+        assertTrue(availableIds("Cacheado").contains(vehicle.getId()));
+        StatementCounter.assertStatementCount(1, "página do catálogo");
+
+        assertEquals(hitsBefore + 1, detailsUsage().getHits());
+    }
+
+    @Test
+    void availabilityFlipsInvalidateCachedVehicle() {
+        Vehicle vehicle = vehicleService.save(new Vehicle(null, 2024, 85000.0, "Verde", "Invalidado", true));
+        Long id = vehicle.getId();
+        assertTrue(vehicleService.findById(id).orElseThrow().getAvailable());
+
+        Cart cart = cartService.reserveVehicle(id, "cliente-cache").orElseThrow();
+        assertFalse(vehicleService.findById(id).orElseThrow().getAvailable());
+        assertFalse(availableIds("Invalidado").contains(id));
+
+        assertTrue(cartService.cancel(cart.getId()));
+        assertTrue(vehicleService.findById(id).orElseThrow().getAvailable());
+        assertTrue(availableIds("Invalidado").contains(id));
+    }
+
+    @Test
+    void saveAndDeleteInvalidateCachedVehicle() {
+        Vehicle vehicle = vehicleService.save(new Vehicle(null, 2024, 90000.0, "Branco", "Editado", true));
+        Long id = vehicle.getId();
+        vehicleService.findById(id);
+
+        vehicleService.save(new Vehicle(id, 2024, 95000.0, "Branco", "Editado", true));
+        assertEquals(95000.0, vehicleService.findById(id).orElseThrow().getBasePrice());
+
+        vehicleService.deleteById(id);
+        assertTrue(vehicleService.findById(id).isEmpty());
+    }
+
+    // IDs da primeira página do catálogo filtrada pelo modelo
+    private List<Long> availableIds(String model) {
+        VehicleFilter filter = new VehicleFilter();
+        filter.setModel(model);
+        return vehicleService.findAvailablePage(filter, null, 100, false).getItems().stream().map(Vehicle::getId).toList();
+    }
+
+    private CacheUsage detailsUsage() {
+        return vehicleService.getCacheStats().get(0);
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.concessionaria.carsservice.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Conta as instruções SQL que o Hibernate prepara na thread atual, a partir do primeiro
+ * {@link #reset()} nessa thread (as demais threads não acumulam nada).
+ * Registrado em {@code hibernate.session_factory.statement_inspector} nas propriedades de teste.
+ *
+ * Chamadas de sequência ({@code next value for}/{@code nextval}) são ignoradas, pois dependem
+ * de quando o bloco de IDs pré-alocado acaba, e não do plano de consultas.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        String normalized = sql.toLowerCase(Locale.ROOT);
+        if (statements != null && !normalized.contains("next value for") && !normalized.contains("nextval")) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    public static List<String> statements() {
+        List<String> statements = STATEMENTS.get();
+        return statements == null ? List.of() : List.copyOf(statements);
+    }
+
+    /**
+     * Falha se a quantidade de instruções desde o último {@link #reset()} for diferente da esperada,
+     * listando as instruções executadas.
+     */
+    public static void assertStatementCount(int expected, String operation) {
+        List<String> executed = statements();
+        assertEquals(expected, executed.size(),
+                () -> operation + " executou " + executed.size() + " instruções:\n" + String.join("\n", executed));
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.concessionaria.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Um cliente simulado: faz login no user-service e repete, até o fim do teste, uma ação sorteada
+ * com os pesos de {@link #pick()}. Navegar pelo catálogo alimenta a lista de veículos que o cliente
+ * conhece; os detalhes e o carrinho usam essa lista, e o checkout só acontece com itens no carrinho.
+ *
+ * O sorteio usa um {@link Random} com semente fixa por cliente, então a sequência de ações é a mesma
+ * em todas as execuções (o resultado de cada ação ainda depende da concorrência entre os clientes).
+ */
+class ClientSession implements Runnable {
+
+    static final String LOGIN = "POST /auth/login";
+    static final String CATALOG = "GET /vehicles/page";
+    static final String VEHICLE = "GET /vehicles/{id}";
+    static final String ADD_TO_CART = "POST /cart";
+    static final String CHECKOUT = "POST /cart/checkout-all/{client}";
+    static final String SALES = "GET /sales/page";
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"nextCursor\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient http;
+    private final String usersUrl;
+    private final String carsUrl;
+    private final LoadTestData.Customer customer;
+    private final Random random;
+    private final long thinkMillis;
+    private final long end;
+    private final BooleanSupplier recording;
+    private final Map<String, EndpointStats> stats;
+
+    private String token;
+    private String catalogCursor;
+    private List<Long> knownVehicles = new ArrayList<>();
+    private int itemsInCart;
+
+    ClientSession(HttpClient http, String usersUrl, String carsUrl, LoadTestData.Customer customer, long seed,
+                  long thinkMillis, long end, BooleanSupplier recording, Map<String, EndpointStats> stats) {
+        this.http = http;
+        this.usersUrl = usersUrl;
+        this.carsUrl = carsUrl;
+        this.customer = customer;
+        this.random = new Random(seed);
+        this.thinkMillis = thinkMillis;
+        this.end = end;
+        this.recording = recording;
+        this.stats = stats;
+    }
+
+    @Override
+    public void run() {
+        login();
+        while (System.nanoTime() < end) {
+            switch (pick()) {
+                case LOGIN -> login();
+                case CATALOG -> browseCatalog();
+                case VEHICLE -> viewVehicle();
+                case ADD_TO_CART -> addToCart();
+                case CHECKOUT -> checkout();
+                default -> listSales();
+            }
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(thinkMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Pesos da mistura de tráfego (somam 100): a maior parte é navegação no catálogo
+    private String pick() {
+        int roll = random.nextInt(100);
+        if (roll < 35) return CATALOG;
+        if (roll < 55) return knownVehicles.isEmpty() ? CATALOG : VEHICLE;
+        if (roll < 70) return knownVehicles.isEmpty() ? CATALOG : ADD_TO_CART;
+        if (roll < 78) return itemsInCart == 0 ? CATALOG : CHECKOUT;
+        if (roll < 90) return SALES;
+        return LOGIN;
+    }
+
+    private void login() {
+        String body = "{\"username\":\"" + customer.username() + "\",\"password\":\"" + customer.password() + "\"}";
+        HttpResponse<String> response = send(LOGIN, HttpRequest.newBuilder(URI.create(usersUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response != null && response.statusCode() == 200) {
+            Matcher matcher = TOKEN.matcher(response.body());
+            if (matcher.find()) {
+                token = matcher.group(1);
+            }
+        }
+    }
+
+    // Primeira página (às vezes filtrada por modelo) ou a próxima página da navegação anterior
+    private void browseCatalog() {
+        StringBuilder path = new StringBuilder("/vehicles/page?size=20&includeTotal=false");
+        if (catalogCursor != null && random.nextBoolean()) {
+            path.append("&cursor=").append(catalogCursor);
+        } else if (random.nextInt(4) == 0) {
+            path.append("&model=").append(LoadTestData.MODELS[random.nextInt(LoadTestData.MODELS.length)]);
+        }
+        HttpResponse<String> response = send(CATALOG, authorized(carsUrl + path).GET());
+        if (response != null && response.statusCode() == 200) {
+            List<Long> ids = new ArrayList<>();
+            Matcher matcher = ID.matcher(response.body());
+            while (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+            knownVehicles = ids;
+            Matcher cursor = NEXT_CURSOR.matcher(response.body());
+            catalogCursor = cursor.find() ? cursor.group(1) : null;
+        }
+    }
+
+    private void viewVehicle() {
+        long vehicleId = knownVehicles.get(random.nextInt(knownVehicles.size()));
+        send(VEHICLE, authorized(carsUrl + "/vehicles/" + vehicleId).GET());
+    }
+
+    private void addToCart() {
+        long vehicleId = knownVehicles.remove(random.nextInt(knownVehicles.size()));
+        HttpResponse<String> response = send(ADD_TO_CART, authorized(carsUrl + "/cart?vehicleId=" + vehicleId
+                + "&client=" + customer.document()).POST(HttpRequest.BodyPublishers.noBody()));
+        if (response != null && response.statusCode() == 200) {
+            itemsInCart++;
+        }
+    }
+
+    private void checkout() {
+        HttpResponse<String> response = send(CHECKOUT, authorized(carsUrl + "/cart/checkout-all/" + customer.document()
+                + "?seller=" + LoadTestData.SELLER_USERNAME + "&type=online")
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        if (response != null) {
+            // 200 vende os itens; 400 indica carrinho vazio (itens já expirados)
+            itemsInCart = 0;
+        }
+    }
+
+    private void listSales() {
+        send(SALES, authorized(carsUrl + "/sales/page?size=50").GET());
+    }
+
+    private HttpRequest.Builder authorized(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token);
+    }
+
+    // Envia a requisição e registra a latência se a janela de medição estiver aberta
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (recording.getAsBoolean()) {
+                stats(endpoint).record((System.nanoTime() - start) / 1_000, response.statusCode());
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            if (recording.getAsBoolean()) {
+                stats(endpoint).recordFailure((System.nanoTime() - start) / 1_000);
+            }
+            return null;
+        }
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return stats.computeIfAbsent(endpoint, e -> new EndpointStats());
+    }
+}
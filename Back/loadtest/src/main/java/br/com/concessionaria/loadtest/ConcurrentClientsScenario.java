@@ -0,0 +1,188 @@
+package br.com.concessionaria.loadtest;
+
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Catálogo e carrinho do cars-service com muitos clientes simultâneos ({@code --scenario=concurrent-clients}),
+ * para comparar threads de plataforma com o perfil {@code virtual-threads} ({@code --virtual-threads=true},
+ * que exige os jars compilados e executados com Java 21).
+ *
+ * Cada cliente repete, sem pausa, o ciclo: página do catálogo, detalhe de um veículo, adicionar o veículo
+ * ao próprio carrinho e esvaziar o carrinho. As requisições são assíncronas ({@link HttpClient#sendAsync}),
+ * então 20000 clientes não exigem 20000 threads no gerador de carga. Cada nível tem um aquecimento não medido.
+ *
+ * <pre>
+ * ulimit -n 100000   # os sockets dos clientes e do servidor ficam no mesmo processo
+ * java -jar loadtest/target/loadtest.jar --scenario=concurrent-clients [--levels=200,2000,20000] \
+ *     [--duration=30] [--warmup=5] [--vehicles=2000] [--seed=42] [--virtual-threads=false]
+ * </pre>
+ * O resultado é gravado em {@code concurrent-clients-platform.csv} ou {@code concurrent-clients-virtual.csv}
+ * (altere com {@code --report=}), para comparar as duas execuções.
+ */
+class ConcurrentClientsScenario {
+
+    private static final Pattern VEHICLE_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient http;
+    private final String carsUrl;
+    private final String token;
+    private final long[] vehicleIds;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    // Só registra as medições depois do aquecimento
+    private volatile boolean recording;
+
+    private ConcurrentClientsScenario(HttpClient http, String carsUrl, String token, long[] vehicleIds) {
+        this.http = http;
+        this.carsUrl = carsUrl;
+        this.token = token;
+        this.vehicleIds = vehicleIds;
+    }
+
+    static void run(Map<String, String> options) throws Exception {
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "200,2000,20000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int vehicles = Integer.parseInt(options.getOrDefault("vehicles", "2000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        boolean virtualThreads = Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false"));
+        String label = virtualThreads ? "virtual" : "platform";
+        Path report = Path.of(options.getOrDefault("report", "concurrent-clients-" + label + ".csv"));
+
+        List<String> urls = LoadTestDriver.startServices(options, virtualThreads ? "loadtest,virtual-threads" : "loadtest");
+        String carsUrl = urls.get(1);
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        String token;
+        try {
+            LoadTestData data = new LoadTestData(http, urls.get(0), carsUrl, pool);
+            token = data.sellerToken();
+            data.createVehicles(token, vehicles, seed);
+        } finally {
+            pool.shutdownNow();
+        }
+        long[] vehicleIds = loadVehicleIds(http, carsUrl, token);
+        System.out.printf("%d veículos disponíveis no catálogo (%s)%n", vehicleIds.length, label);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(report))) {
+            csv.println(LatencyReport.csvHeader("threads,clientes"));
+            for (int level : levels) {
+                ConcurrentClientsScenario scenario = new ConcurrentClientsScenario(http, carsUrl, token, vehicleIds);
+                scenario.execute(level, warmup, duration);
+                scenario.report(label, level, duration, csv);
+            }
+        }
+        System.out.println("Resultado gravado em " + report.toAbsolutePath());
+    }
+
+    private void execute(int clients, int warmup, int duration) throws InterruptedException {
+        System.out.printf("%n%d clientes: %ds de aquecimento e %ds medidos%n", clients, warmup, duration);
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(duration);
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            cycle("carga-" + i, i, end, finished);
+        }
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        recording = true;
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, end - System.nanoTime()));
+        recording = false;
+        finished.await(60, TimeUnit.SECONDS);
+    }
+
+    // Um ciclo completo do cliente; ao terminar, recomeça até o fim do nível
+    private void cycle(String client, int clientIndex, long end, CountDownLatch finished) {
+        if (System.nanoTime() >= end) {
+            finished.countDown();
+            return;
+        }
+        long vehicleId = vehicleIds[ThreadLocalRandom.current().nextInt(vehicleIds.length)];
+        long cartVehicleId = vehicleIds[clientIndex % vehicleIds.length];
+        call(ClientSession.CATALOG, get("/vehicles/page?size=20&includeTotal=false"))
+                .thenCompose(ignored -> call(ClientSession.VEHICLE, get("/vehicles/" + vehicleId)))
+                .thenCompose(ignored -> call(ClientSession.ADD_TO_CART,
+                        post("/cart?vehicleId=" + cartVehicleId + "&client=" + client)))
+                .thenCompose(ignored -> call("POST /cart/clear/{client}", post("/cart/clear/" + client)))
+                .whenComplete((ignored, error) -> cycle(client, clientIndex, end, finished));
+    }
+
+    private CompletableFuture<Void> call(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (recording) {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, e -> new EndpointStats());
+                        if (error != null) {
+                            endpointStats.recordFailure(micros);
+                        } else {
+                            endpointStats.record(micros, response.statusCode());
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    private void report(String label, int clients, int seconds, PrintWriter csv) {
+        System.out.printf("%d clientes simultâneos, threads %s (%ds medidos)%n", clients, label, seconds);
+        LatencyReport.print(stats, seconds, csv, label + "," + clients);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(carsUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path) {
+        return HttpRequest.newBuilder(URI.create(carsUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static long[] loadVehicleIds(HttpClient http, String carsUrl, String token) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(carsUrl + "/vehicles"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Falha ao listar veículos: " + response.statusCode());
+        }
+        Matcher matcher = VEHICLE_ID.matcher(response.body());
+        List<Long> ids = new ArrayList<>();
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Nenhum veículo no catálogo (use --vehicles= maior que 0)");
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.concessionaria.loadtest;
+
+import org.springframework.boot.loader.launch.Archive;
+import org.springframework.boot.loader.launch.JarLauncher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Sobe um serviço a partir do jar executável do Spring Boot dentro deste processo.
+ *
+ * O launcher do Spring Boot cria, para cada jar, um class loader com as classes e bibliotecas
+ * da aplicação (filho do class loader deste driver, que só contém o próprio launcher). Assim os dois
+ * serviços não compartilham classes, {@code application.properties}, migrações do Flyway nem o banco
+ * H2 em memória, como se fossem processos separados.
+ */
+class EmbeddedService {
+
+    private final String name;
+    private final Path jar;
+
+    EmbeddedService(String name, Path jar) {
+        this.name = name;
+        this.jar = jar;
+    }
+
+    /**
+     * Executa o main da aplicação com os argumentos informados. O main do Spring Boot retorna
+     * quando o contexto termina de subir, então ao retornar o serviço já aceita requisições.
+     */
+    void start(List<String> args) throws Exception {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Jar do " + name + " não encontrado: " + jar.toAbsolutePath()
+                    + " (gere com: mvn -Ploadtest package -DskipTests)");
+        }
+        Thread current = Thread.currentThread();
+        ClassLoader previous = current.getContextClassLoader();
+        long start = System.nanoTime();
+        try {
+            new ServiceLauncher(Archive.create(jar.toFile())).launch(args.toArray(String[]::new));
+        } finally {
+            current.setContextClassLoader(previous);
+        }
+        System.out.printf("%s iniciado em %.1fs%n", name, (System.nanoTime() - start) / 1e9);
+    }
+
+    // O JarLauncher padrão usa o jar de onde a própria classe foi carregada; aqui o jar é informado
+    private static class ServiceLauncher extends JarLauncher {
+
+        ServiceLauncher(Archive archive) throws Exception {
+            super(archive);
+        }
+
+        @Override
+        protected void launch(String[] args) throws Exception {
+            super.launch(args);
+        }
+
+        // Cada Tomcat tenta registrar o próprio URLStreamHandlerFactory, mas a JVM aceita apenas um;
+        // os serviços não usam os protocolos do Tomcat (war:, jndi:), então o registro é desativado
+        @Override
+        protected void launch(ClassLoader classLoader, String mainClassName, String[] args) throws Exception {
+            classLoader.loadClass("org.apache.catalina.webresources.TomcatURLStreamHandlerFactory")
+                    .getMethod("disable")
+                    .invoke(null);
+            super.launch(classLoader, mainClassName, args);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.concessionaria.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências (em microssegundos) e respostas de um endpoint durante a janela medida.
+ */
+class EndpointStats {
+
+    private final ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+    private final LongAdder non2xx = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    void record(long micros, int status) {
+        latenciesMicros.add(micros);
+        if (status / 100 != 2) {
+            non2xx.increment();
+        }
+    }
+
+    // Erro de conexão ou timeout, sem resposta HTTP
+    void recordFailure(long micros) {
+        latenciesMicros.add(micros);
+        failures.increment();
+    }
+
+    List<Long> sortedLatencies() {
+        List<Long> sorted = new ArrayList<>(latenciesMicros);
+        sorted.sort(null);
+        return sorted;
+    }
+
+    long non2xx() {
+        return non2xx.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    static long percentile(List<Long> sorted, double p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
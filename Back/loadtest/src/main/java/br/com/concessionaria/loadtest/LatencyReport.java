@@ -0,0 +1,89 @@
+package br.com.concessionaria.loadtest;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Relatório das latências por endpoint usado pelos cenários: tabela no console e linhas em CSV,
+ * com as mesmas colunas em todos os cenários. Cada cenário informa as colunas que identificam
+ * a execução (ex.: "clientes" ou "threads,clientes"), gravadas antes das colunas do endpoint.
+ */
+final class LatencyReport {
+
+    private static final String CSV_COLUMNS = "endpoint,requisicoes,req_por_s,p50_ms,p95_ms,p99_ms,max_ms,respostas_nao_2xx,falhas";
+
+    private LatencyReport() {
+    }
+
+    /**
+     * Cabeçalho do CSV: as colunas da execução seguidas das colunas do endpoint.
+     */
+    static String csvHeader(String runColumns) {
+        return runColumns + "," + CSV_COLUMNS;
+    }
+
+    /**
+     * Imprime a tabela dos endpoints (em ordem alfabética) e grava uma linha de CSV para cada um.
+     *
+     * @param stats Estatísticas por endpoint
+     * @param seconds Duração da janela medida, para calcular req/s
+     * @param csv Destino das linhas do CSV
+     * @param runValues Valores das colunas da execução, já separados por vírgula
+     * @return Total de requisições medidas
+     */
+    static long print(Map<String, EndpointStats> stats, int seconds, PrintWriter csv, String runValues) {
+        System.out.printf("  %-34s %10s %8s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requisições", "req/s", "p50 ms", "p95 ms", "p99 ms", "máx ms", "não 2xx", "falhas");
+        long total = 0;
+        for (String endpoint : stats.keySet().stream().sorted().toList()) {
+            Summary summary = Summary.of(stats.get(endpoint));
+            if (summary == null) {
+                continue;
+            }
+            total += summary.requests();
+            double throughput = summary.requests() / (double) seconds;
+            System.out.printf("  %-34s %10d %8.1f %9.1f %9.1f %9.1f %9.1f %9d %8d%n", endpoint, summary.requests(),
+                    throughput, summary.p50(), summary.p95(), summary.p99(), summary.max(), summary.non2xx(), summary.failures());
+            csv.printf(Locale.ROOT, "%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d%n", runValues, endpoint, summary.requests(),
+                    throughput, summary.p50(), summary.p95(), summary.p99(), summary.max(), summary.non2xx(), summary.failures());
+        }
+        System.out.printf("  %-34s %10d %8.1f%n", "total", total, total / (double) seconds);
+        csv.flush();
+        return total;
+    }
+
+    /**
+     * Imprime o resumo de um único endpoint em uma linha.
+     */
+    static void printLine(EndpointStats stats) {
+        Summary summary = Summary.of(stats);
+        if (summary == null) {
+            System.out.println("  nenhuma requisição concluída");
+            return;
+        }
+        System.out.printf("  requisições=%d p50=%.1fms p95=%.1fms p99=%.1fms máx=%.1fms não 2xx=%d%n", summary.requests(),
+                summary.p50(), summary.p95(), summary.p99(), summary.max(), summary.non2xx());
+    }
+
+    /**
+     * Percentis e máximo (em milissegundos) e contagens de um endpoint.
+     */
+    record Summary(long requests, double p50, double p95, double p99, double max, long non2xx, long failures) {
+
+        // Nulo quando nenhuma requisição foi medida
+        static Summary of(EndpointStats stats) {
+            List<Long> sorted = stats.sortedLatencies();
+            if (sorted.isEmpty()) {
+                return null;
+            }
+            return new Summary(sorted.size(),
+                    EndpointStats.percentile(sorted, 50) / 1000.0,
+                    EndpointStats.percentile(sorted, 95) / 1000.0,
+                    EndpointStats.percentile(sorted, 99) / 1000.0,
+                    sorted.get(sorted.size() - 1) / 1000.0,
+                    stats.non2xx(), stats.failures());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.concessionaria.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gera a massa de dados do teste de carga pelas próprias APIs dos serviços: veículos no cars-service
+ * e clientes no user-service (cadastrados pelo vendedor criado pelo DataInitializer).
+ * Os dados saem de um {@link Random} com semente fixa, então a mesma semente gera a mesma massa.
+ */
+class LoadTestData {
+
+    // O DataInitializer sempre cria este vendedor; o do DataSeeder só existe se ele rodar com o banco vazio
+    static final String SELLER_USERNAME = "vendedor_teste@gmail.com";
+    static final String SELLER_PASSWORD = "123456";
+    static final String CUSTOMER_PASSWORD = "123456";
+
+    static final String[] MODELS = {"Onix", "HB20", "Argo", "Corolla", "Civic", "Sentra", "Compass", "HR-V",
+            "T-Cross", "Camry", "Accord"};
+    private static final String[] COLORS = {"Branco", "Preto", "Prata", "Cinza", "Azul", "Vermelho"};
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    record Customer(String username, String password, String document) {
+    }
+
+    private final HttpClient http;
+    private final String usersUrl;
+    private final String carsUrl;
+    private final ExecutorService pool;
+
+    LoadTestData(HttpClient http, String usersUrl, String carsUrl, ExecutorService pool) {
+        this.http = http;
+        this.usersUrl = usersUrl;
+        this.carsUrl = carsUrl;
+        this.pool = pool;
+    }
+
+    String sellerToken() throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(usersUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + SELLER_USERNAME
+                                + "\",\"password\":\"" + SELLER_PASSWORD + "\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Falha no login do vendedor: " + response.statusCode());
+        }
+        return matcher.group(1);
+    }
+
+    void createVehicles(String token, int count, long seed) throws Exception {
+        Random random = new Random(seed);
+        List<String> bodies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bodies.add(String.format(Locale.ROOT,
+                    "{\"year\":%d,\"basePrice\":%.2f,\"color\":\"%s\",\"model\":\"%s\",\"available\":true}",
+                    2018 + random.nextInt(7), 60_000 + random.nextInt(260_000) + random.nextInt(100) / 100.0,
+                    COLORS[random.nextInt(COLORS.length)], MODELS[random.nextInt(MODELS.length)]));
+        }
+        postAll(carsUrl + "/vehicles", token, bodies, "veículos");
+    }
+
+    // Cadastro pelo POST /users: cada cliente paga um hash BCrypt no user-service
+    List<Customer> createCustomers(String token, int count, long seed) throws Exception {
+        Random random = new Random(seed);
+        List<Customer> customers = new ArrayList<>(count);
+        List<String> bodies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String document = String.format("%03d.%03d.%03d-%02d", 900 + i / 1_000_000, i / 1_000 % 1_000, i % 1_000,
+                    random.nextInt(100));
+            Customer customer = new Customer("carga" + i + "@email.com", CUSTOMER_PASSWORD, document);
+            customers.add(customer);
+            bodies.add("{\"document\":\"" + document + "\",\"name\":\"Cliente Carga " + i + "\",\"username\":\""
+                    + customer.username() + "\",\"password\":\"" + CUSTOMER_PASSWORD + "\",\"profile\":\"CLIENTE\","
+                    + "\"vip\":" + (random.nextInt(5) == 0) + "}");
+        }
+        postAll(usersUrl + "/users", token, bodies, "clientes");
+        return customers;
+    }
+
+    private void postAll(String url, String token, List<String> bodies, String label) throws Exception {
+        long start = System.nanoTime();
+        List<Future<Integer>> results = new ArrayList<>(bodies.size());
+        for (String body : bodies) {
+            results.add(pool.submit(() -> http.send(HttpRequest.newBuilder(URI.create(url))
+                            .header("Authorization", "Bearer " + token)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode()));
+        }
+        for (Future<Integer> result : results) {
+            int status = result.get();
+            if (status != 200) {
+                throw new IllegalStateException("Falha ao cadastrar " + label + ": HTTP " + status);
+            }
+        }
+        System.out.printf("%d %s cadastrados em %.1fs%n", bodies.size(), label, (System.nanoTime() - start) / 1e9);
+    }
+}
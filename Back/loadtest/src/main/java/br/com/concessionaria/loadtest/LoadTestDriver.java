@@ -0,0 +1,147 @@
+package br.com.concessionaria.loadtest;
+
+import java.io.PrintWriter;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga ponta a ponta em uma única máquina, sem PostgreSQL e sem rede externa.
+ *
+ * Sobe o user-service e o cars-service neste processo (perfil {@code loadtest}, H2 em memória),
+ * gera a massa de dados pelas APIs e coloca clientes simultâneos para repetir uma mistura de tráfego:
+ * catálogo, detalhe do veículo, carrinho, checkout, listagem de vendas e login. Ao final mostra,
+ * por endpoint, a vazão e os percentis de latência, e grava o mesmo resultado em CSV.
+ *
+ * <pre>
+ * cd Back
+ * mvn -Ploadtest package -DskipTests
+ * java -jar loadtest/target/loadtest.jar [--clients=32] [--duration=60] [--warmup=10] \
+ *     [--vehicles=2000] [--customers=50] [--think-ms=0] [--seed=42] [--report=loadtest-report.csv]
+ * </pre>
+ * Os jars executáveis são procurados nos diretórios target de cada serviço
+ * (altere com {@code --users-jar=} e {@code --cars-jar=}); as portas padrão são 18081 e 18080.
+ * Com {@code --scenario=login-flood} executa o ataque de logins de {@link LoginFloodScenario} e com
+ * {@code --scenario=concurrent-clients} os níveis de concorrência de {@link ConcurrentClientsScenario}.
+ */
+public class LoadTestDriver {
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    // Só registra as medições depois do aquecimento
+    private volatile boolean recording;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if ("login-flood".equals(options.get("scenario"))) {
+            LoginFloodScenario.run(options);
+            System.exit(0);
+        }
+        if ("concurrent-clients".equals(options.get("scenario"))) {
+            ConcurrentClientsScenario.run(options);
+            System.exit(0);
+        }
+        int clients = Integer.parseInt(options.getOrDefault("clients", "32"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int vehicles = Integer.parseInt(options.getOrDefault("vehicles", "2000"));
+        int customers = Integer.parseInt(options.getOrDefault("customers", "50"));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path report = Path.of(options.getOrDefault("report", "loadtest-report.csv"));
+
+        List<String> urls = startServices(options, "loadtest");
+        String usersUrl = urls.get(0);
+        String carsUrl = urls.get(1);
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(clients, 8));
+        try {
+            LoadTestData data = new LoadTestData(http, usersUrl, carsUrl, pool);
+            String sellerToken = data.sellerToken();
+            data.createVehicles(sellerToken, vehicles, seed);
+            List<LoadTestData.Customer> registered = data.createCustomers(sellerToken, customers, seed);
+
+            LoadTestDriver driver = new LoadTestDriver();
+            driver.execute(pool, http, usersUrl, carsUrl, registered, clients, warmup, duration, thinkMillis, seed);
+            driver.report(clients, duration, report);
+        } finally {
+            pool.shutdownNow();
+        }
+        // Encerra também os serviços embutidos
+        System.exit(0);
+    }
+
+    /**
+     * Sobe o user-service e o cars-service neste processo.
+     *
+     * @param options Opções da linha de comando (portas e jars dos serviços)
+     * @param carsProfiles Perfis do cars-service (ex.: {@code loadtest,virtual-threads})
+     * @return URLs do user-service e do cars-service, nesta ordem
+     */
+    static List<String> startServices(Map<String, String> options, String carsProfiles) throws Exception {
+        int usersPort = Integer.parseInt(options.getOrDefault("users-port", "18081"));
+        int carsPort = Integer.parseInt(options.getOrDefault("cars-port", "18080"));
+        Path usersJar = Path.of(options.getOrDefault("users-jar", "user-service/target/user-service-0.0.1-SNAPSHOT-exec.jar"));
+        Path carsJar = Path.of(options.getOrDefault("cars-jar", "cars-service/cars-service/target/cars-service-1.0-SNAPSHOT-exec.jar"));
+
+        // O cars-service consulta o status VIP no user-service, que precisa subir primeiro
+        new EmbeddedService("user-service", usersJar).start(List.of(
+                "--spring.profiles.active=loadtest",
+                "--server.port=" + usersPort,
+                "--management.server.port=" + (usersPort + 10)));
+        new EmbeddedService("cars-service", carsJar).start(List.of(
+                "--spring.profiles.active=" + carsProfiles,
+                "--server.port=" + carsPort,
+                "--management.server.port=" + (carsPort + 10),
+                "--cars.user-service.url=http://localhost:" + usersPort));
+        return List.of("http://localhost:" + usersPort, "http://localhost:" + carsPort);
+    }
+
+    private void execute(ExecutorService pool, HttpClient http, String usersUrl, String carsUrl,
+                         List<LoadTestData.Customer> customers, int clients, int warmup, int duration,
+                         long thinkMillis, long seed) throws InterruptedException {
+        System.out.printf("%d clientes: %ds de aquecimento e %ds medidos%n", clients, warmup, duration);
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(duration);
+        for (int i = 0; i < clients; i++) {
+            pool.submit(new ClientSession(http, usersUrl, carsUrl, customers.get(i % customers.size()), seed + i,
+                    thinkMillis, end, () -> recording, stats));
+        }
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        recording = true;
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, end - System.nanoTime()));
+        recording = false;
+        pool.shutdown();
+        pool.awaitTermination(60, TimeUnit.SECONDS);
+    }
+
+    private void report(int clients, int seconds, Path output) throws Exception {
+        System.out.printf("%n%d clientes simultâneos (%ds medidos)%n", clients, seconds);
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(output))) {
+            csv.println(LatencyReport.csvHeader("clientes"));
+            LatencyReport.print(stats, seconds, csv, String.valueOf(clients));
+        }
+        System.out.println("Resultado gravado em " + output.toAbsolutePath());
+    }
+
+    // Opções no formato --nome=valor
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Opção inválida (use --nome=valor): " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
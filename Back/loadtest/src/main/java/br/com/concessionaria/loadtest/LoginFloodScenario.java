@@ -0,0 +1,219 @@
+package br.com.concessionaria.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ataque de logins com senha errada contra o user-service ({@code --scenario=login-flood}).
+ *
+ * Mede a latência de GET /users do vendedor antes e durante o ataque e a ocupação do pool de login
+ * (threads ativas, fila e logins recusados com a fila cheia). Cada tentativa usa outro usuário e sai
+ * de outro IP ({@code X-Forwarded-For}, que o serviço aceita de proxies locais com {@code server.forward-headers-strategy=native}),
+ * como um ataque distribuído: os limites por IP e por usuário, que voltam aos valores de produção
+ * (o perfil {@code loadtest} os eleva), não barram as tentativas e toda a carga chega ao pool BCrypt.
+ *
+ * <pre>
+ * java -jar loadtest/target/loadtest.jar --scenario=login-flood [--attackers=64] [--duration=20]
+ * </pre>
+ * {@code --duration} é a duração de cada fase, em segundos.
+ */
+class LoginFloodScenario {
+
+    // Limites de login do application.properties do user-service
+    private static final List<String> PRODUCTION_LIMITS = List.of(
+            "--users.login.ip.capacity=30",
+            "--users.login.ip.refill-per-minute=60",
+            "--users.login.username.capacity=10",
+            "--users.login.username.refill-per-minute=10");
+
+    private static final Pattern MEASUREMENT = Pattern.compile("\"statistic\"\\s*:\\s*\"(\\w+)\"\\s*,\\s*\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+    private static final long SAMPLE_MILLIS = 100;
+
+    private final HttpClient http;
+    private final String usersUrl;
+    private final String managementUrl;
+
+    private LoginFloodScenario(HttpClient http, String usersUrl, String managementUrl) {
+        this.http = http;
+        this.usersUrl = usersUrl;
+        this.managementUrl = managementUrl;
+    }
+
+    static void run(Map<String, String> options) throws Exception {
+        int attackers = Integer.parseInt(options.getOrDefault("attackers", "64"));
+        int seconds = Integer.parseInt(options.getOrDefault("duration", "20"));
+        int usersPort = Integer.parseInt(options.getOrDefault("users-port", "18081"));
+        Path usersJar = Path.of(options.getOrDefault("users-jar", "user-service/target/user-service-0.0.1-SNAPSHOT-exec.jar"));
+
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=loadtest",
+                "--server.port=" + usersPort,
+                "--management.server.port=" + (usersPort + 10)));
+        args.addAll(PRODUCTION_LIMITS);
+        new EmbeddedService("user-service", usersJar).start(args);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        new LoginFloodScenario(http, "http://localhost:" + usersPort, "http://localhost:" + (usersPort + 10))
+                .execute(attackers, seconds);
+    }
+
+    private void execute(int attackers, int seconds) throws Exception {
+        String token = new LoadTestData(http, usersUrl, null, null).sellerToken();
+        int poolSize = (int) metric("executor.pool.size", "name:login", "VALUE");
+        int queueCapacity = (int) (metric("executor.queue.remaining", "name:login", "VALUE")
+                + metric("executor.queued", "name:login", "VALUE"));
+
+        System.out.printf("Fase 1: GET /users sem carga de login (%ds)%n", seconds);
+        LatencyReport.printLine(sampleUsers(token, seconds));
+
+        Map<String, Double> outcomesBefore = loginOutcomes();
+        AtomicBoolean attacking = new AtomicBoolean(true);
+        Map<Integer, LongAdder> loginStatus = new ConcurrentHashMap<>();
+        AtomicLong attempts = new AtomicLong();
+        ExecutorService attackerPool = Executors.newFixedThreadPool(attackers);
+        for (int t = 0; t < attackers; t++) {
+            attackerPool.submit(() -> {
+                while (attacking.get()) {
+                    long attempt = attempts.getAndIncrement();
+                    try {
+                        HttpResponse<Void> response = http.send(attackRequest(attempt), HttpResponse.BodyHandlers.discarding());
+                        loginStatus.computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+                    } catch (Exception e) {
+                        loginStatus.computeIfAbsent(-1, s -> new LongAdder()).increment();
+                    }
+                }
+            });
+        }
+
+        // Amostra a ocupação do pool de login enquanto o ataque acontece
+        PoolSaturation saturation = new PoolSaturation();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> saturation.sample(
+                        metric("executor.active", "name:login", "VALUE"),
+                        metric("executor.queued", "name:login", "VALUE"),
+                        queueCapacity),
+                0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+
+        System.out.printf("Fase 2: GET /users com %d threads atacando /auth/login (%ds)%n", attackers, seconds);
+        LatencyReport.printLine(sampleUsers(token, seconds));
+
+        attacking.set(false);
+        sampler.shutdownNow();
+        attackerPool.shutdown();
+        attackerPool.awaitTermination(30, TimeUnit.SECONDS);
+        Map<String, Double> outcomesAfter = loginOutcomes();
+
+        System.out.println("Respostas do login durante o ataque (status -> quantidade): " + loginStatus);
+        System.out.printf("Pool de login: %d threads, fila de %d%n", poolSize, queueCapacity);
+        saturation.print();
+        for (String outcome : outcomesAfter.keySet()) {
+            System.out.printf("  users.login outcome=%s: %.0f%n", outcome,
+                    outcomesAfter.get(outcome) - outcomesBefore.getOrDefault(outcome, 0.0));
+        }
+    }
+
+    // Usuário e IP diferentes a cada tentativa (10.x.y.z)
+    private HttpRequest attackRequest(long attempt) {
+        String ip = "10." + (attempt >> 16 & 0xFF) + "." + (attempt >> 8 & 0xFF) + "." + (attempt & 0xFF);
+        String body = "{\"username\":\"vitima" + attempt + "@email.com\",\"password\":\"senha_errada\"}";
+        return HttpRequest.newBuilder(URI.create(usersUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", ip)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Chama GET /users em sequência durante a fase e devolve as latências em microssegundos
+    private EndpointStats sampleUsers(String token, int seconds) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(usersUrl + "/users"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        EndpointStats stats = new EndpointStats();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), response.statusCode());
+        }
+        return stats;
+    }
+
+    // Quantidade de logins por resultado no timer users.login (rate_limited, rejected, unauthorized...)
+    private Map<String, Double> loginOutcomes() {
+        Map<String, Double> outcomes = new TreeMap<>();
+        for (String outcome : List.of("success", "unauthorized", "rate_limited", "rejected", "error")) {
+            outcomes.put(outcome, metric("users.login", "outcome:" + outcome, "COUNT"));
+        }
+        return outcomes;
+    }
+
+    // Valor de uma métrica no actuator do serviço; 0 se a métrica ou a tag ainda não existirem
+    private double metric(String name, String tag, String statistic) {
+        try {
+            HttpResponse<String> response = http.send(
+                    HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/metrics/" + name + "?tag=" + tag)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return 0;
+            }
+            Matcher matcher = MEASUREMENT.matcher(response.body());
+            while (matcher.find()) {
+                if (matcher.group(1).equals(statistic)) {
+                    return Double.parseDouble(matcher.group(2));
+                }
+            }
+            return 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Amostras de ocupação do pool de login durante o ataque.
+     */
+    private static class PoolSaturation {
+        private long samples;
+        private long fullSamples;
+        private double activeSum;
+        private double queuedSum;
+        private double maxActive;
+        private double maxQueued;
+
+        synchronized void sample(double active, double queued, int queueCapacity) {
+            samples++;
+            activeSum += active;
+            queuedSum += queued;
+            maxActive = Math.max(maxActive, active);
+            maxQueued = Math.max(maxQueued, queued);
+            if (queueCapacity > 0 && queued >= queueCapacity) {
+                fullSamples++;
+            }
+        }
+
+        synchronized void print() {
+            long count = Math.max(1, samples);
+            System.out.printf("  threads ativas: média %.1f, máx %.0f%n", activeSum / count, maxActive);
+            System.out.printf("  fila: média %.1f, máx %.0f; cheia em %.0f%% das %d amostras%n",
+                    queuedSum / count, maxQueued, 100.0 * fullSamples / count, samples);
+        }
+    }
+}
@@ -6,18 +6,19 @@ import br.com.concessionaria.user.repository.UserRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class DataInitializer {
     @Bean
-    public CommandLineRunner initUsers(UserRepository userRepository) {
+    public CommandLineRunner initUsers(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         return args -> {
             if (userRepository.findByUsername("vendedor_teste@gmail.com").isEmpty()) {
                 User vendedor = new User();
                 vendedor.setDocument("12345678900");
                 vendedor.setName("vendedor_teste");
                 vendedor.setUsername("vendedor_teste@gmail.com");
-                vendedor.setPassword("123456");
+                vendedor.setPassword("123456", passwordEncoder);
                 vendedor.setProfile(Profile.VENDEDOR);
                 userRepository.save(vendedor);
             }
@@ -26,7 +27,7 @@ public class DataInitializer {
                 cliente.setDocument("98765432100");
                 cliente.setName("cliente_teste");
                 cliente.setUsername("cliente_teste@gmail.com");
-                cliente.setPassword("123456");
+                cliente.setPassword("123456", passwordEncoder);
                 cliente.setProfile(Profile.CLIENTE);
                 userRepository.save(cliente);
             }
@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
@@ -14,6 +15,8 @@ import org.springframework.context.annotation.Configuration;
 public class DataSeeder {
 
     private final UserRepository userRepository;
+    private final SyntheticUserGenerator syntheticUserGenerator;
+    private final PasswordEncoder passwordEncoder;
 
     @Bean
     public CommandLineRunner seedDatabase() {
@@ -25,6 +28,8 @@ public class DataSeeder {
             } else {
                 log.info("Banco já possui dados. Seed não executado.");
             }
+            // Massa sintética opcional (--seed.users=...)
+            syntheticUserGenerator.generateIfRequested();
         };
     }
 
@@ -33,7 +38,7 @@ public class DataSeeder {
         vendedor.setDocument("111.111.111-11");
         vendedor.setName("João Silva Vendedor");
         vendedor.setUsername("vendedor@concessionaria.com");
-        vendedor.setPassword("123456");
+        vendedor.setPassword("123456", passwordEncoder);
         vendedor.setProfile(User.Profile.VENDEDOR);
         vendedor.setVip(false);
         userRepository.save(vendedor);
@@ -43,7 +48,7 @@ public class DataSeeder {
         clienteNormal.setDocument("222.222.222-22");
         clienteNormal.setName("Maria Santos Cliente");
         clienteNormal.setUsername("maria@email.com");
-        clienteNormal.setPassword("123456");
+        clienteNormal.setPassword("123456", passwordEncoder);
         clienteNormal.setProfile(User.Profile.CLIENTE);
         clienteNormal.setVip(false);
         userRepository.save(clienteNormal);
@@ -53,7 +58,7 @@ public class DataSeeder {
         clienteVip.setDocument("333.333.333-33");
         clienteVip.setName("Carlos Oliveira VIP");
         clienteVip.setUsername("carlos.vip@email.com");
-        clienteVip.setPassword("123456");
+        clienteVip.setPassword("123456", passwordEncoder);
         clienteVip.setProfile(User.Profile.CLIENTE);
         clienteVip.setVip(true);
         userRepository.save(clienteVip);
@@ -0,0 +1,149 @@
+package br.com.concessionaria.user.config;
+
+import br.com.concessionaria.user.model.User;
+import br.com.concessionaria.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera uma massa grande de usuários para testes de escala ({@code --seed.users=200_000}).
+ *
+ * Cada usuário é derivado do próprio índice: login {@code usuarioN@email.com}, documento
+ * {@code 5XX.XXX.XXX-XX}, vendedor a cada 100 usuários e VIP quando o índice termina em 1 ou 6
+ * (as mesmas regras do gerador de vendas do cars-service). O nome sai de um gerador aleatório
+ * semeado com {@code seed.random-seed} e com o índice, então a mesma semente gera os mesmos dados.
+ *
+ * Todos recebem a senha {@code 123456} com um único hash BCrypt calculado antes dos INSERTs
+ * (com o custo atual, cada hash levaria centenas de milissegundos). As linhas são gravadas por
+ * JDBC em lotes ({@code seed.batch-size}), em blocos paralelos com uma transação cada ({@code seed.threads}).
+ */
+@Component
+@Slf4j
+public class SyntheticUserGenerator {
+
+    static final String PASSWORD = "123456";
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Carla", "Diego", "Elisa", "Fábio", "Gabriela",
+            "Heitor", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira",
+            "Costa", "Almeida", "Ferreira", "Rodrigues"};
+
+    private final DataSource dataSource;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final long users;
+    private final long randomSeed;
+    private final int threads;
+    private final int batchSize;
+
+    public SyntheticUserGenerator(DataSource dataSource,
+                                  UserRepository userRepository,
+                                  PasswordEncoder passwordEncoder,
+                                  @Value("${seed.users:0}") String users,
+                                  @Value("${seed.random-seed:42}") long randomSeed,
+                                  @Value("${seed.threads:4}") int threads,
+                                  @Value("${seed.batch-size:1000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        // O Spring não aceita o separador "_" em números (ex.: 200_000)
+        this.users = users == null || users.isBlank() ? 0 : Long.parseLong(users.replace("_", "").trim());
+        this.randomSeed = randomSeed;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gera os usuários pedidos em {@code seed.users}, a menos que a massa já exista
+     * (o primeiro usuário sintético já está gravado).
+     */
+    public void generateIfRequested() throws Exception {
+        if (users == 0) {
+            return;
+        }
+        if (userRepository.findByUsername(username(0)).isPresent()) {
+            log.info("Banco já possui usuários sintéticos. Geração não executada.");
+            return;
+        }
+        log.info("=== Gerando {} usuários sintéticos (semente {}, {} threads) ===", users, randomSeed, threads);
+        generate();
+        log.info("=== Usuários sintéticos gerados com sucesso ===");
+    }
+
+    static String document(long index) {
+        return String.format("%03d.%03d.%03d-%02d", 500 + index / 1_000_000, index / 1_000 % 1_000, index % 1_000, index % 100);
+    }
+
+    static String username(long index) {
+        return "usuario" + index + "@email.com";
+    }
+
+    static boolean isSeller(long index) {
+        return index % 100 == 0;
+    }
+
+    static boolean isVip(long index) {
+        return !isSeller(index) && index % 5 == 1;
+    }
+
+    // Divide os usuários em blocos paralelos; cada bloco grava em lotes JDBC e faz um único commit
+    private void generate() throws Exception {
+        long start = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        long chunkSize = (long) batchSize * 20;
+        AtomicLong written = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long from = 0; from < users; from += chunkSize) {
+                long chunkStart = from;
+                long chunkEnd = Math.min(from + chunkSize, users);
+                chunks.add(pool.submit(() -> {
+                    try (Connection connection = dataSource.getConnection();
+                         PreparedStatement statement = connection.prepareStatement(
+                                 "INSERT INTO users (document, name, username, password, profile, vip) VALUES (?, ?, ?, ?, ?, ?)")) {
+                        connection.setAutoCommit(false);
+                        for (long index = chunkStart; index < chunkEnd; index++) {
+                            SplittableRandom random = new SplittableRandom(randomSeed * 0x9E3779B97F4A7C15L + index);
+                            statement.setString(1, document(index));
+                            statement.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + index);
+                            statement.setString(3, username(index));
+                            statement.setString(4, passwordHash);
+                            statement.setString(5, (isSeller(index) ? User.Profile.VENDEDOR : User.Profile.CLIENTE).name());
+                            statement.setBoolean(6, isVip(index));
+                            statement.addBatch();
+                            if ((index - chunkStart + 1) % batchSize == 0) {
+                                statement.executeBatch();
+                            }
+                        }
+                        statement.executeBatch();
+                        connection.commit();
+                    }
+                    log.info("usuários: {} de {} gravados", written.addAndGet(chunkEnd - chunkStart), users);
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("{} usuários gerados em {}s ({} por segundo)", users, String.format("%.1f", seconds),
+                Math.round(users / Math.max(seconds, 0.001)));
+    }
+}
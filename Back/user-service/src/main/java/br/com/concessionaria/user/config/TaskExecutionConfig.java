@@ -0,0 +1,18 @@
+package br.com.concessionaria.user.config;
+
+import org.springframework.boot.task.ThreadPoolTaskExecutorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// O executor de tarefas do Spring (applicationTaskExecutor) roda as cargas do UserDetailsCache.
+// Com threads virtuais o Spring cria uma thread virtual por tarefa; com threads de plataforma o pool
+// é limitado por spring.task.execution.pool.* e, com a fila cheia, a tarefa roda na thread que a enviou.
+@Configuration
+public class TaskExecutionConfig {
+    @Bean
+    public ThreadPoolTaskExecutorCustomizer callerRunsWhenQueueIsFull() {
+        return executor -> executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -1,41 +1,79 @@
 package br.com.concessionaria.user.controller;
 
-import br.com.concessionaria.user.model.User;
 import br.com.concessionaria.user.security.JwtUtil;
-import br.com.concessionaria.user.service.UserService;
+import br.com.concessionaria.user.service.LoginService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private LoginService loginService;
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
-    private UserService userService;
+    private MeterRegistry meterRegistry;
 
+    // A verificação da senha roda no pool de login; a thread do Tomcat é liberada
+    // enquanto isso. Limite excedido ou fila cheia respondem 429 na hora.
+    // O timer users.login mede até a conclusão do future (inclui a espera na fila do pool).
+    // O IP do limitador é o do cliente mesmo atrás de proxy (server.forward-headers-strategy).
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!loginService.tryAcquire(request.getUsername(), httpRequest.getRemoteAddr())) {
+            stopLogin(sample, "rate_limited");
+            return CompletableFuture.completedFuture(tooManyRequests());
+        }
         try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
-            User user = userService.findByUsername(request.getUsername()).orElseThrow();
-            String token = jwtUtil.generateToken(user.getUsername(), user.getProfile().name(), 
-                                               user.getName(), user.getDocument());
-            return ResponseEntity.ok(new AuthResponse(token));
-        } catch (AuthenticationException e) {
-            return ResponseEntity.status(401).body("Usuário ou senha inválidos");
+            return loginService.authenticate(request.getUsername(), request.getPassword())
+                    .<ResponseEntity<?>>thenApply(user -> {
+                        String token = jwtUtil.generateToken(user.getUsername(), user.getProfile().name(),
+                                                           user.getName(), user.getDocument());
+                        return ResponseEntity.ok(new AuthResponse(token));
+                    })
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                        if (cause instanceof AuthenticationException) {
+                            return ResponseEntity.status(401).body("Usuário ou senha inválidos");
+                        }
+                        throw new CompletionException(cause);
+                    })
+                    .whenComplete((response, e) -> stopLogin(sample, outcome(response)));
+        } catch (RejectedExecutionException e) {
+            stopLogin(sample, "rejected");
+            return CompletableFuture.completedFuture(tooManyRequests());
         }
     }
 
+    private void stopLogin(Timer.Sample sample, String outcome) {
+        sample.stop(meterRegistry.timer("users.login", "outcome", outcome));
+    }
+
+    private static String outcome(ResponseEntity<?> response) {
+        if (response == null) return "error";
+        if (response.getStatusCode().is2xxSuccessful()) return "success";
+        return response.getStatusCode().value() == 401 ? "unauthorized" : "error";
+    }
+
+    private ResponseEntity<?> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body("Muitas tentativas de login. Tente novamente em instantes.");
+    }
+
     @Data
     public static class AuthRequest {
         private String username;
@@ -1,11 +1,14 @@
 package br.com.concessionaria.user.controller;
 
 import br.com.concessionaria.user.model.User;
+import br.com.concessionaria.user.repository.UserRepository.UserSummary;
+import br.com.concessionaria.user.repository.UserRepository.UserVipView;
 import br.com.concessionaria.user.service.UserService;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,21 +18,56 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/users")
 public class UserController {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     @PreAuthorize("hasAuthority('VENDEDOR')")
     @GetMapping
     public List<UserListResponse> getAllUsers() {
-        return userService.findAll().stream()
-                .map(user -> new UserListResponse(
-                        user.getDocument(),
-                        user.getName(),
-                        user.getUsername(),
-                        user.getProfile().name(),
-                        user.getVip()
-                ))
+        return userService.findAllSummaries().stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    // Listagem paginada por cursor (username do último item) com busca por prefixo
+    // em nome, username ou documento
+    @PreAuthorize("hasAuthority('VENDEDOR')")
+    @GetMapping("/page")
+    public ResponseEntity<UserPageResponse> getUsersPage(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) String q,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<UserListResponse> items = userService.findSummaryPage(cursor, q, size).stream()
+                .map(this::toResponse)
                 .collect(Collectors.toList());
+        String nextCursor = items.size() == size ? items.get(items.size() - 1).getUsername() : null;
+        return ResponseEntity.ok(new UserPageResponse(items, nextCursor));
+    }
+
+    // Consulta em lote usada pelo cars-service para saber se os clientes são VIP.
+    // Documentos e usernames não encontrados simplesmente não aparecem na resposta.
+    @PreAuthorize("hasAnyAuthority('VENDEDOR', 'SERVICE')")
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchUserResponse>> batchLookup(@RequestBody BatchUserRequest request) {
+        List<String> documents = request.getDocuments() != null ? request.getDocuments() : List.of();
+        List<String> usernames = request.getUsernames() != null ? request.getUsernames() : List.of();
+        if (documents.size() + usernames.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (documents.isEmpty() && usernames.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(userService.findVipStatus(documents, usernames).stream()
+                .map(this::toBatchResponse)
+                .collect(Collectors.toList()));
     }
 
     @PreAuthorize("hasAuthority('VENDEDOR')")
@@ -53,7 +91,7 @@ public class UserController {
         user.setDocument(request.getDocument());
         user.setName(request.getName());
         user.setUsername(request.getUsername());
-        user.setPassword(request.getPassword());
+        user.setPassword(request.getPassword(), passwordEncoder);
         user.setProfile(User.Profile.valueOf(request.getProfile()));
         user.setVip(request.getVip() != null ? request.getVip() : false);
 
@@ -105,7 +143,7 @@ public class UserController {
             user.setProfile(User.Profile.valueOf(request.getProfile()));
         }
         if (request.getPassword() != null) {
-            user.setPassword(request.getPassword());
+            user.setPassword(request.getPassword(), passwordEncoder);
         }
         if (request.getVip() != null) {
             user.setVip(request.getVip());
@@ -134,6 +172,25 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    private UserListResponse toResponse(UserSummary summary) {
+        return new UserListResponse(
+                summary.getDocument(),
+                summary.getName(),
+                summary.getUsername(),
+                summary.getProfile().name(),
+                summary.getVip()
+        );
+    }
+
+    private BatchUserResponse toBatchResponse(UserVipView view) {
+        return new BatchUserResponse(
+                view.getDocument(),
+                view.getUsername(),
+                view.getVip(),
+                view.getProfile().name()
+        );
+    }
+
     @Data
     public static class UserListResponse {
         private final String document;
@@ -143,6 +200,27 @@ public class UserController {
         private final Boolean vip;
     }
 
+    @Data
+    public static class UserPageResponse {
+        private final List<UserListResponse> items;
+        // Nulo quando não há mais páginas
+        private final String nextCursor;
+    }
+
+    @Data
+    public static class BatchUserRequest {
+        private List<String> documents;
+        private List<String> usernames;
+    }
+
+    @Data
+    public static class BatchUserResponse {
+        private final String document;
+        private final String username;
+        private final Boolean vip;
+        private final String profile;
+    }
+
     @Data
     public static class CreateUserRequest {
         private String document;
@@ -4,10 +4,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "uk_users_document", columnList = "document", unique = true))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,8 +36,14 @@ public class User {
     @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
     private Boolean vip = false;
 
-    public void setPassword(String password) {
-        this.password = BCrypt.hashpw(password, BCrypt.gensalt());
+    // Grava o hash da senha informada, com o codificador (e o custo) configurado no serviço
+    public void setPassword(String rawPassword, PasswordEncoder passwordEncoder) {
+        this.password = passwordEncoder.encode(rawPassword);
+    }
+
+    // Substitui o hash já calculado (usado no rehash após o login)
+    public void setPasswordHash(String passwordHash) {
+        this.password = passwordHash;
     }
 
     public void setDocument(String document) {
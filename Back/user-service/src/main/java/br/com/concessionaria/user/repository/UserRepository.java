@@ -1,10 +1,60 @@
 package br.com.concessionaria.user.repository;
 
 import br.com.concessionaria.user.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByDocument(String document);
+
+    // Listagem completa lendo apenas as colunas exibidas (sem o hash da senha)
+    @Query("SELECT u.document AS document, u.name AS name, u.username AS username, u.profile AS profile, u.vip AS vip " +
+           "FROM User u ORDER BY u.username")
+    List<UserSummary> findAllSummaries();
+
+    // Página por cursor ordenada por username (único); busca por prefixo em nome, username ou documento.
+    // lowerPrefix e documentPrefix já chegam com '%' no final e curingas escapados.
+    @Query("SELECT u.document AS document, u.name AS name, u.username AS username, u.profile AS profile, u.vip AS vip " +
+           "FROM User u WHERE (:after IS NULL OR u.username > :after) " +
+           "AND (:lowerPrefix IS NULL OR LOWER(u.name) LIKE :lowerPrefix ESCAPE '\\' " +
+           "OR LOWER(u.username) LIKE :lowerPrefix ESCAPE '\\' OR u.document LIKE :documentPrefix ESCAPE '\\') " +
+           "ORDER BY u.username")
+    List<UserSummary> findSummaryPage(@Param("after") String after,
+                                      @Param("lowerPrefix") String lowerPrefix,
+                                      @Param("documentPrefix") String documentPrefix,
+                                      Pageable pageable);
+
+    // Resolve vários documentos/usernames de uma vez, em uma única consulta IN indexada
+    @Query("SELECT u.document AS document, u.username AS username, u.vip AS vip, u.profile AS profile " +
+           "FROM User u WHERE u.document IN :documents OR u.username IN :usernames")
+    List<UserVipView> findVipByDocumentsOrUsernames(@Param("documents") Collection<String> documents,
+                                                    @Param("usernames") Collection<String> usernames);
+
+    /**
+     * Projeção com as cinco colunas da listagem de usuários.
+     */
+    interface UserSummary {
+        String getDocument();
+        String getName();
+        String getUsername();
+        User.Profile getProfile();
+        Boolean getVip();
+    }
+
+    /**
+     * Projeção usada na consulta em lote do status VIP.
+     */
+    interface UserVipView {
+        String getDocument();
+        String getUsername();
+        Boolean getVip();
+        User.Profile getProfile();
+    }
 }
@@ -0,0 +1,89 @@
+package br.com.concessionaria.user.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+// Custo (work factor) do BCrypt usado nos hashes de senha, definido em users.password.bcrypt-cost.
+// O custo vem sempre da configuração, igual em todas as réplicas. Com users.password.target-ms > 0,
+// a inicialização também mede o maior custo cuja verificação cabe no alvo nesta máquina, apenas
+// como recomendação no log e na métrica "users.password.bcrypt.recommended-cost".
+// O custo em uso fica exposto na métrica "users.password.bcrypt.cost".
+@Component
+@Slf4j
+public class BCryptWorkFactor {
+    // Limites do custo: abaixo de 10 a senha fica barata demais para ataques offline
+    static final int MIN_COST = 10;
+    static final int MAX_COST = 16;
+
+    private final int cost;
+    private final int recommendedCost;
+
+    public BCryptWorkFactor(@Value("${users.password.bcrypt-cost:12}") int configuredCost,
+                            @Value("${users.password.target-ms:0}") long targetMs,
+                            MeterRegistry meterRegistry) {
+        if (configuredCost < MIN_COST || configuredCost > MAX_COST) {
+            throw new IllegalArgumentException("users.password.bcrypt-cost deve estar entre "
+                    + MIN_COST + " e " + MAX_COST + ": " + configuredCost);
+        }
+        this.cost = configuredCost;
+        log.info("Custo do BCrypt configurado: {}", cost);
+        if (targetMs > 0) {
+            this.recommendedCost = measure(targetMs);
+            if (recommendedCost != cost) {
+                log.warn("Custo do BCrypt configurado ({}) difere do recomendado para esta máquina ({}, alvo {} ms)",
+                        cost, recommendedCost, targetMs);
+            }
+            Gauge.builder("users.password.bcrypt.recommended-cost", this, BCryptWorkFactor::getRecommendedCost)
+                    .description("Maior work factor do BCrypt cuja verificação cabe no alvo nesta máquina")
+                    .register(meterRegistry);
+        } else {
+            this.recommendedCost = cost;
+        }
+        Gauge.builder("users.password.bcrypt.cost", this, BCryptWorkFactor::getCost)
+                .description("Work factor do BCrypt usado nos hashes de senha")
+                .register(meterRegistry);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public int getRecommendedCost() {
+        return recommendedCost;
+    }
+
+    // Custo gravado no hash ("$2a$10$..."), ou -1 se o formato não for reconhecido
+    public static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Cada incremento dobra o tempo; para no primeiro custo que passa do alvo
+    private static int measure(long targetMs) {
+        String sample = "medicao-do-custo";
+        int chosen = MIN_COST;
+        for (int candidate = MIN_COST; candidate <= MAX_COST; candidate++) {
+            String hash = BCrypt.hashpw(sample, BCrypt.gensalt(candidate));
+            long start = System.nanoTime();
+            BCrypt.checkpw(sample, hash);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("BCrypt custo {}: verificação em {} ms", candidate, elapsedMs);
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            chosen = candidate;
+        }
+        log.info("Custo do BCrypt recomendado: {} (alvo {} ms)", chosen, targetMs);
+        return chosen;
+    }
+}
@@ -2,32 +2,48 @@ package br.com.concessionaria.user.security;
 
 import br.com.concessionaria.user.model.User;
 import br.com.concessionaria.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-
-// Implementação do UserDetailsService para autenticação do Spring Security
+// Implementação do UserDetailsService para autenticação do Spring Security.
+// Também grava o novo hash quando o login encontra uma senha com custo BCrypt menor que o configurado.
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserRepository userRepository;
 
+    private final Counter rehashCounter;
+
+    public CustomUserDetailsService(MeterRegistry meterRegistry) {
+        this.rehashCounter = Counter.builder("users.password.rehash")
+                .description("Senhas regravadas com o custo BCrypt atual após o login")
+                .register(meterRegistry);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .authorities(user.getProfile().name())
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+        return toUserDetails(user);
+    }
+
+    // Chamado pelo Spring Security após um login bem-sucedido; newPassword já vem codificada
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
+        user.setPasswordHash(newPassword);
+        rehashCounter.increment();
+        return toUserDetails(userRepository.save(user));
+    }
+
+    private UserDetails toUserDetails(User user) {
+        return new UserPrincipal(user);
     }
 }
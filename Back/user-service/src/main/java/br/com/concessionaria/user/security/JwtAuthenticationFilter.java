@@ -1,49 +1,107 @@
 package br.com.concessionaria.user.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-// Filtro para autenticação JWT em cada requisição
+// Filtro para autenticação JWT em cada requisição.
+// Por padrão monta o usuário a partir das claims do token (sem consultar o banco);
+// rotas em users.auth.fresh-paths carregam o usuário por um cache curto de UserDetails.
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UserDetailsCache userDetailsCache;
+
+    @Value("${users.auth.fresh-paths:}")
+    private List<String> freshPaths;
+
+    // Tempo de validação do token (assinatura e expiração), por resultado
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+
+    public JwtAuthenticationFilter(MeterRegistry meterRegistry) {
+        this.validTokens = meterRegistry.timer("users.jwt.validation", "outcome", "valid");
+        this.invalidTokens = meterRegistry.timer("users.jwt.validation", "outcome", "invalid");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            try {
-                username = jwtUtil.getUsernameFromToken(token);
-            } catch (Exception ignored) {}
-        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(token)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = parseValidClaims(authHeader.substring(7));
+            if (claims != null && claims.getSubject() != null) {
+                UserDetails userDetails = requiresFreshData(request)
+                        ? loadFresh(claims.getSubject())
+                        : fromClaims(claims);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private Claims parseValidClaims(String token) {
+        long start = System.nanoTime();
+        Claims claims = jwtUtil.parseValidClaims(token);
+        (claims != null ? validTokens : invalidTokens).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+    private boolean requiresFreshData(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (String pattern : freshPaths) {
+            if (PATH_MATCHER.match(pattern.trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Usuário montado a partir da claim "role" gerada pelo JwtUtil.generateToken
+    private UserDetails fromClaims(Claims claims) {
+        String role = claims.get("role", String.class);
+        List<GrantedAuthority> authorities = role != null ? List.of(new SimpleGrantedAuthority(role)) : List.of();
+        return User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(authorities)
+                .build();
+    }
+
+    private UserDetails loadFresh(String username) {
+        try {
+            return userDetailsCache.get(username);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package br.com.concessionaria.user.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -15,6 +17,8 @@ public class JwtUtil {
     private final String SECRET = "segredo_super_secreto_seguro_32_bytes_min";
     private final long EXPIRATION = 86400000;
     private final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    // O parser é imutável e thread-safe; é criado uma única vez e reutilizado
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(KEY).build();
 
     public String generateToken(String username, String role, String name, String document) {
         return Jwts.builder()
@@ -45,7 +49,16 @@ public class JwtUtil {
         return claims.getExpiration().after(new Date());
     }
 
+    // Valida assinatura e expiração com um único parse; retorna null se o token for inválido
+    public Claims parseValidClaims(String token) {
+        try {
+            return getClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
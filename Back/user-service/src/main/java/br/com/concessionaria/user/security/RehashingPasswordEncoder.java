@@ -0,0 +1,22 @@
+package br.com.concessionaria.user.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// BCryptPasswordEncoder que pede novo hash quando o custo do hash salvo é menor que o configurado.
+// Hashes mais fortes que o atual são mantidos: baixar o custo (ou uma réplica com configuração
+// antiga) nunca enfraquece senhas já gravadas. O Spring Security chama o
+// UserDetailsPasswordService após um login bem-sucedido para gravar o novo hash.
+public class RehashingPasswordEncoder extends BCryptPasswordEncoder {
+    private final int cost;
+
+    public RehashingPasswordEncoder(int cost) {
+        super(cost);
+        this.cost = cost;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int storedCost = BCryptWorkFactor.costOf(encodedPassword);
+        return storedCost > 0 ? storedCost < cost : super.upgradeEncoding(encodedPassword);
+    }
+}
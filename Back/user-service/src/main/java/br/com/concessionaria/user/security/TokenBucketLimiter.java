@@ -0,0 +1,50 @@
+package br.com.concessionaria.user.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+// Limitador token bucket por chave (usuário, IP...).
+// Cada chave tem um balde com "capacity" fichas, reabastecido continuamente a "refillPerMinute"
+// fichas por minuto. Os baldes ficam em um cache limitado e somem após um tempo sem uso.
+public class TokenBucketLimiter {
+    private final long capacity;
+    private final double refillPerNano;
+    private final Cache<String, Bucket> buckets;
+
+    public TokenBucketLimiter(long capacity, long refillPerMinute, long maxKeys) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerMinute / (double) Duration.ofMinutes(1).toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    // Consome uma ficha da chave; retorna false quando o balde está vazio
+    public boolean tryConsume(String key) {
+        return buckets.get(key, k -> new Bucket(capacity, System.nanoTime())).tryConsume();
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+
+        private synchronized boolean tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
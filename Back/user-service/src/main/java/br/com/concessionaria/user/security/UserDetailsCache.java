@@ -0,0 +1,52 @@
+package br.com.concessionaria.user.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+// Cache curto e limitado de UserDetails para rotas que precisam de dados atualizados do usuário.
+// A consulta ao banco roda no executor de tarefas do Spring, fora do bloqueio interno do cache,
+// para não prender a thread portadora quando as requisições usam threads virtuais.
+@Component
+public class UserDetailsCache {
+    private final UserDetailsService userDetailsService;
+    private final AsyncCache<String, UserDetails> cache;
+
+    public UserDetailsCache(UserDetailsService userDetailsService,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                            @Value("${users.auth.cache-size:10000}") long cacheSize,
+                            @Value("${users.auth.cache-ttl-seconds:30}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .executor(executor)
+                .buildAsync();
+    }
+
+    public UserDetails get(String username) {
+        try {
+            return cache.get(username, userDetailsService::loadUserByUsername).join();
+        } catch (CompletionException e) {
+            // Devolve a exceção original (ex.: UsernameNotFoundException)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Descarta o usuário do cache após alteração ou remoção
+    public void invalidate(String username) {
+        cache.synchronous().invalidate(username);
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.concessionaria.user.security;
+
+import br.com.concessionaria.user.model.User;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+// UserDetails com os dados do usuário que entram no token (nome, documento e perfil).
+// É o principal devolvido pelo login, que assim gera o JWT sem consultar o usuário de novo.
+public class UserPrincipal extends org.springframework.security.core.userdetails.User {
+    private final String name;
+    private final String document;
+    private final User.Profile profile;
+
+    public UserPrincipal(User user) {
+        super(user.getUsername(), user.getPassword(), List.of(new SimpleGrantedAuthority(user.getProfile().name())));
+        this.name = user.getName();
+        this.document = user.getDocument();
+        this.profile = user.getProfile();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDocument() {
+        return document;
+    }
+
+    public User.Profile getProfile() {
+        return profile;
+    }
+}
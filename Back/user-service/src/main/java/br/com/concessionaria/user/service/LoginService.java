@@ -0,0 +1,80 @@
+package br.com.concessionaria.user.service;
+
+import br.com.concessionaria.user.security.TokenBucketLimiter;
+import br.com.concessionaria.user.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Verificação de senha (BCrypt) fora das threads do Tomcat.
+// Os logins passam por um limitador por IP e por usuário e depois são executados em um pool
+// dimensionado pelos núcleos, com fila limitada. Assim uma rajada de logins (ou um ataque de
+// credential stuffing) não ocupa as threads que atendem os demais endpoints.
+// A ocupação do pool fica nas métricas "executor.*" com a tag name=login.
+@Service
+public class LoginService {
+    private final AuthenticationManager authenticationManager;
+    private final TokenBucketLimiter usernameLimiter;
+    private final TokenBucketLimiter ipLimiter;
+    private final ExecutorService executor;
+
+    public LoginService(AuthenticationManager authenticationManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${users.login.threads:0}") int threads,
+                        @Value("${users.login.queue-capacity:100}") int queueCapacity,
+                        @Value("${users.login.username.capacity:10}") long usernameCapacity,
+                        @Value("${users.login.username.refill-per-minute:10}") long usernameRefill,
+                        @Value("${users.login.ip.capacity:30}") long ipCapacity,
+                        @Value("${users.login.ip.refill-per-minute:60}") long ipRefill,
+                        @Value("${users.login.limiter-max-keys:100000}") long maxKeys) {
+        this.authenticationManager = authenticationManager;
+        this.usernameLimiter = new TokenBucketLimiter(usernameCapacity, usernameRefill, maxKeys);
+        this.ipLimiter = new TokenBucketLimiter(ipCapacity, ipRefill, maxKeys);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "login", List.of()).bindTo(meterRegistry);
+    }
+
+    // Verifica os limites do IP e do usuário; o usuário só é cobrado se o IP ainda tiver fichas
+    public boolean tryAcquire(String username, String clientIp) {
+        String user = username == null ? "" : username.toLowerCase(Locale.ROOT);
+        return ipLimiter.tryConsume(clientIp) && usernameLimiter.tryConsume(user);
+    }
+
+    // Agenda a autenticação no pool de login.
+    // Lança RejectedExecutionException imediatamente quando a fila está cheia;
+    // falhas de credencial chegam como AuthenticationException dentro do future.
+    // O usuário vem do principal já carregado pela autenticação, sem uma segunda consulta.
+    public CompletableFuture<UserPrincipal> authenticate(String username, String password) throws RejectedExecutionException {
+        return CompletableFuture.supplyAsync(() -> (UserPrincipal) authenticationManager
+                .authenticate(new UsernamePasswordAuthenticationToken(username, password))
+                .getPrincipal(), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -2,10 +2,16 @@ package br.com.concessionaria.user.service;
 
 import br.com.concessionaria.user.model.User;
 import br.com.concessionaria.user.repository.UserRepository;
+import br.com.concessionaria.user.repository.UserRepository.UserSummary;
+import br.com.concessionaria.user.repository.UserRepository.UserVipView;
+import br.com.concessionaria.user.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -14,10 +20,32 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
+    public List<UserSummary> findAllSummaries() {
+        return userRepository.findAllSummaries();
+    }
+
+    // Página de usuários após o username do cursor, filtrando por prefixo quando informado
+    public List<UserSummary> findSummaryPage(String afterUsername, String prefix, int size) {
+        String escaped = prefix == null || prefix.isBlank() ? null : escapeLike(prefix.trim()) + "%";
+        String lowerPrefix = escaped == null ? null : escaped.toLowerCase(Locale.ROOT);
+        return userRepository.findSummaryPage(afterUsername, lowerPrefix, escaped, PageRequest.of(0, size));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public List<UserVipView> findVipStatus(Collection<String> documents, Collection<String> usernames) {
+        return userRepository.findVipByDocumentsOrUsernames(documents, usernames);
+    }
+
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
@@ -31,10 +59,13 @@ public class UserService {
     }
 
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsCache.invalidate(saved.getUsername());
+        return saved;
     }
 
     public void deleteById(Long id) {
+        userRepository.findById(id).ifPresent(user -> userDetailsCache.invalidate(user.getUsername()));
         userRepository.deleteById(id);
     }
 }
@@ -0,0 +1,11 @@
+-- Esquema inicial do user-service.
+-- Usa IF NOT EXISTS porque bancos existentes já foram criados pelo Hibernate (ddl-auto=update).
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    document VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    profile VARCHAR(255) NOT NULL,
+    vip BOOLEAN NOT NULL DEFAULT FALSE
+);
@@ -0,0 +1,3 @@
+-- Versão H2 de postgresql/V2 (perfil loadtest): o H2 não tem índices por expressão nem
+-- text_pattern_ops, então só o documento único é criado; as buscas por prefixo fazem varredura.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_document ON users (document);
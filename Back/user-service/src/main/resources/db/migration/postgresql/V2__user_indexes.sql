@@ -0,0 +1,11 @@
+-- Documento único: findByDocument é usado em /users/{cpf}, no cadastro e na consulta em lote.
+-- Substitui o índice simples criado antes pelo Hibernate.
+-- (falha se já houver documentos duplicados; eles precisam ser corrigidos antes)
+DROP INDEX IF EXISTS idx_users_document;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_document ON users (document);
+
+-- Busca por prefixo da listagem de usuários (LIKE 'abc%'), antes criada pelo data.sql.
+-- text_pattern_ops permite usar o índice com LIKE independentemente da collation do banco.
+CREATE INDEX IF NOT EXISTS idx_users_name_prefix ON users (LOWER(name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_username_prefix ON users (LOWER(username) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_document_prefix ON users (document text_pattern_ops);
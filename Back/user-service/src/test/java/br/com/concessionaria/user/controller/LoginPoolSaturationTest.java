@@ -0,0 +1,86 @@
+package br.com.concessionaria.user.controller;
+
+import br.com.concessionaria.user.model.User;
+import br.com.concessionaria.user.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Verifica que, com o pool de login ocupado e a fila cheia, o próximo login responde 429
+ * na hora em vez de esperar. Pool de uma thread com fila de uma posição; a autenticação
+ * fica presa até o teste liberá-la.
+ */
+@SpringBootTest(properties = {"users.login.threads=1", "users.login.queue-capacity=1"})
+@AutoConfigureMockMvc
+class LoginPoolSaturationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @Test
+    void fullQueueAnswersTooManyRequests() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserPrincipal principal = new UserPrincipal(new User(1L, "12345678900", "vendedor_teste",
+                "vendedor_teste@gmail.com", "hash", User.Profile.VENDEDOR, false));
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(30, TimeUnit.SECONDS);
+            return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        });
+
+        try {
+            MvcResult running = login("10.4.0.1");
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+            MvcResult queued = login("10.4.0.2");
+
+            MvcResult rejected = login("10.4.0.3");
+            assertEquals(429, mockMvc.perform(asyncDispatch(rejected)).andReturn().getResponse().getStatus());
+
+            release.countDown();
+            for (MvcResult accepted : List.of(running, queued)) {
+                assertEquals(200, mockMvc.perform(asyncDispatch(accepted)).andReturn().getResponse().getStatus());
+            }
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private MvcResult login(String ip) throws Exception {
+        return mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", "vendedor_teste@gmail.com", "password", "123456")))
+                        .with(request -> {
+                            request.setRemoteAddr(ip);
+                            return request;
+                        }))
+                .andReturn();
+    }
+}
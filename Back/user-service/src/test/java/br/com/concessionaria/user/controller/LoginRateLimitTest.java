@@ -0,0 +1,95 @@
+package br.com.concessionaria.user.controller;
+
+import br.com.concessionaria.user.security.JwtUtil;
+import br.com.concessionaria.user.support.StatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Verifica o login: o token sai do usuário carregado pela autenticação (uma única consulta)
+ * e os limites por usuário e por IP respondem 429 quando o balde esvazia
+ * (10 tentativas por usuário e 30 por IP, como na configuração principal).
+ * Cada teste usa IPs e usuários próprios, pois os baldes são compartilhados no contexto.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class LoginRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void successfulLoginLoadsTheUserOnce() throws Exception {
+        StatementCounter.reset();
+        MockHttpServletResponse response = login("vendedor_teste@gmail.com", "123456", "10.1.0.1");
+
+        assertEquals(200, response.getStatus());
+        StatementCounter.assertStatementCount(1, "login com senha correta");
+        String token = objectMapper.readTree(response.getContentAsString()).get("token").asText();
+        assertEquals("vendedor_teste@gmail.com", jwtUtil.getUsernameFromToken(token));
+        assertEquals("VENDEDOR", jwtUtil.getRoleFromToken(token));
+    }
+
+    @Test
+    void usernameBucketRejectsAttemptsFromAnyIp() throws Exception {
+        int attempt = 0;
+        MockHttpServletResponse response;
+        do {
+            response = login("cliente_teste@gmail.com", "senha_errada", "10.2.0." + attempt++);
+        } while (response.getStatus() == 401 && attempt < 20);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        // O balde de 10 fichas esvazia depois das 10 tentativas (mais as repostas durante o teste)
+        assertTrue(attempt > 10, "429 na tentativa " + attempt);
+    }
+
+    @Test
+    void ipBucketRejectsAttemptsForAnyUsername() throws Exception {
+        int attempt = 0;
+        MockHttpServletResponse response;
+        do {
+            response = login("inexistente" + attempt++ + "@email.com", "senha_errada", "10.3.0.1");
+        } while (response.getStatus() == 401 && attempt < 60);
+
+        assertEquals(429, response.getStatus());
+        // 30 fichas, mais as repostas (uma por segundo) enquanto as tentativas rodam
+        assertTrue(attempt > 30, "429 na tentativa " + attempt);
+        // Outro IP continua com fichas
+        assertEquals(401, login("outro@email.com", "senha_errada", "10.3.0.2").getStatus());
+    }
+
+    private MockHttpServletResponse login(String username, String password, String ip) throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", username, "password", password)))
+                        .with(request -> {
+                            request.setRemoteAddr(ip);
+                            return request;
+                        }))
+                .andReturn();
+        return result.getRequest().isAsyncStarted()
+                ? mockMvc.perform(asyncDispatch(result)).andReturn().getResponse()
+                : result.getResponse();
+    }
+}
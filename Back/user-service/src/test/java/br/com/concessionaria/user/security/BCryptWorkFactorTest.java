@@ -0,0 +1,42 @@
+package br.com.concessionaria.user.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica os limites do custo configurado do BCrypt e a decisão de rehash do codificador,
+ * que só pede um novo hash quando o custo gravado é menor que o configurado.
+ */
+class BCryptWorkFactorTest {
+
+    @Test
+    void configuredCostOutsideBoundsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BCryptWorkFactor(9, 0, new SimpleMeterRegistry()));
+        assertThrows(IllegalArgumentException.class, () -> new BCryptWorkFactor(17, 0, new SimpleMeterRegistry()));
+
+        assertEquals(10, new BCryptWorkFactor(10, 0, new SimpleMeterRegistry()).getCost());
+        assertEquals(16, new BCryptWorkFactor(16, 0, new SimpleMeterRegistry()).getCost());
+    }
+
+    @Test
+    void onlyLowerCostHashesAreUpgraded() {
+        RehashingPasswordEncoder encoder = new RehashingPasswordEncoder(12);
+
+        assertTrue(encoder.upgradeEncoding(BCrypt.hashpw("senha", BCrypt.gensalt(10))));
+        assertFalse(encoder.upgradeEncoding(BCrypt.hashpw("senha", BCrypt.gensalt(12))));
+        assertFalse(encoder.upgradeEncoding(BCrypt.hashpw("senha", BCrypt.gensalt(13))));
+    }
+
+    @Test
+    void costIsReadFromTheHash() {
+        assertEquals(11, BCryptWorkFactor.costOf(BCrypt.hashpw("senha", BCrypt.gensalt(11))));
+        assertEquals(-1, BCryptWorkFactor.costOf("texto-puro"));
+        assertEquals(-1, BCryptWorkFactor.costOf(null));
+    }
+}
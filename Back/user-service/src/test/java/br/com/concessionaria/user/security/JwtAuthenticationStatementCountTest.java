@@ -0,0 +1,73 @@
+package br.com.concessionaria.user.security;
+
+import br.com.concessionaria.user.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que as requisições autenticadas por JWT não consultam o usuário no banco:
+ * o usuário e o perfil vêm das claims do token. Nas rotas que exigem dados atualizados,
+ * o {@link UserDetailsCache} consulta o banco uma vez por usuário até ser invalidado.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationStatementCountTest {
+
+    private static final String SELLER = "vendedor_teste@gmail.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Test
+    void protectedRequestRunsNoUserLookup() throws Exception {
+        String token = jwtUtil.generateToken(SELLER, "VENDEDOR", "vendedor_teste", "12345678900");
+
+        StatementCounter.reset();
+        mockMvc.perform(get("/users/page").param("size", "1").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Apenas a consulta da página, que não lê o hash da senha
+        StatementCounter.assertStatementCount(1, "GET /users/page autenticado por JWT");
+        assertTrue(StatementCounter.statements().stream().noneMatch(sql -> sql.contains("password")));
+    }
+
+    @Test
+    void authorizationUsesTheRoleFromTheToken() throws Exception {
+        String token = jwtUtil.generateToken("cliente_teste@gmail.com", "CLIENTE", "cliente_teste", "98765432100");
+
+        StatementCounter.reset();
+        mockMvc.perform(get("/users/page").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        StatementCounter.assertStatementCount(0, "GET /users/page negado pelo perfil do token");
+    }
+
+    @Test
+    void freshUserDetailsAreLoadedOncePerUserUntilInvalidated() {
+        userDetailsCache.invalidate(SELLER);
+
+        StatementCounter.reset();
+        assertEquals(SELLER, userDetailsCache.get(SELLER).getUsername());
+        assertEquals(SELLER, userDetailsCache.get(SELLER).getUsername());
+        StatementCounter.assertStatementCount(1, "duas leituras do mesmo usuário pelo cache");
+
+        userDetailsCache.invalidate(SELLER);
+        StatementCounter.reset();
+        userDetailsCache.get(SELLER);
+        StatementCounter.assertStatementCount(1, "leitura após a invalidação");
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.concessionaria.user.security;
+
+import br.com.concessionaria.user.model.User;
+import br.com.concessionaria.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o rehash das senhas no login (custo configurado nos testes: 10):
+ * só hashes com custo menor são regravados, e apenas depois de um login bem-sucedido.
+ */
+@SpringBootTest
+class PasswordRehashTest {
+
+    private static final String PASSWORD = "senha-rehash";
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void lowerCostHashIsRehashedOnSuccessfulLogin() {
+        String username = createUser(4);
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, PASSWORD));
+
+        String stored = storedHash(username);
+        assertEquals(10, BCryptWorkFactor.costOf(stored));
+        assertTrue(BCrypt.checkpw(PASSWORD, stored));
+    }
+
+    @Test
+    void equalOrHigherCostHashIsKept() {
+        for (int cost : new int[] {10, 11}) {
+            String username = createUser(cost);
+            String before = storedHash(username);
+
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, PASSWORD));
+
+            assertEquals(before, storedHash(username));
+        }
+    }
+
+    @Test
+    void failedLoginNeverRewritesTheHash() {
+        String username = createUser(4);
+        String before = storedHash(username);
+
+        assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(username, "senha-errada")));
+
+        assertEquals(before, storedHash(username));
+    }
+
+    // Usuário com o hash gerado diretamente no custo informado
+    private String createUser(int cost) {
+        String username = "rehash-" + cost + "-" + System.nanoTime() + "@email.com";
+        User user = new User();
+        user.setDocument(String.valueOf(System.nanoTime()));
+        user.setName("Rehash");
+        user.setUsername(username);
+        user.setPasswordHash(BCrypt.hashpw(PASSWORD, BCrypt.gensalt(cost)));
+        user.setProfile(User.Profile.CLIENTE);
+        userRepository.save(user);
+        return username;
+    }
+
+    private String storedHash(String username) {
+        return userRepository.findByUsername(username).orElseThrow().getPassword();
+    }
+}
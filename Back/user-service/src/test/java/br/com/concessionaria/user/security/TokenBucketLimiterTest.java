@@ -0,0 +1,38 @@
+package br.com.concessionaria.user.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o balde de fichas por chave: a capacidade limita a rajada, cada chave
+ * tem o próprio balde e as fichas voltam com o tempo.
+ */
+class TokenBucketLimiterTest {
+
+    @Test
+    void burstIsLimitedToCapacityPerKey() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, 100);
+
+        assertTrue(limiter.tryConsume("10.0.0.1"));
+        assertTrue(limiter.tryConsume("10.0.0.1"));
+        assertTrue(limiter.tryConsume("10.0.0.1"));
+        assertFalse(limiter.tryConsume("10.0.0.1"));
+
+        // Outra chave não é afetada pelo balde vazio
+        assertTrue(limiter.tryConsume("10.0.0.2"));
+    }
+
+    @Test
+    void tokensAreRefilledOverTime() throws InterruptedException {
+        // 60000 fichas por minuto: uma ficha a cada milissegundo
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60_000, 100);
+        assertTrue(limiter.tryConsume("usuario"));
+        assertFalse(limiter.tryConsume("usuario"));
+
+        Thread.sleep(20);
+
+        assertTrue(limiter.tryConsume("usuario"));
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.concessionaria.user.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Conta as instruções SQL que o Hibernate prepara depois do último {@link #reset()}.
+ * Registrado em {@code hibernate.session_factory.statement_inspector} nas propriedades de teste.
+ *
+ * Conta as instruções de todas as threads: o cache de UserDetails carrega o usuário no executor
+ * das cargas dos caches, e não na thread da requisição. Os testes que usam a contagem não
+ * rodam em paralelo com outras consultas ao banco.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    public static List<String> statements() {
+        synchronized (STATEMENTS) {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+
+    /**
+     * Falha se a quantidade de instruções desde o último {@link #reset()} for diferente da esperada,
+     * listando as instruções executadas.
+     */
+    public static void assertStatementCount(int expected, String operation) {
+        List<String> executed = statements();
+        assertEquals(expected, executed.size(),
+                () -> operation + " executou " + executed.size() + " instruções:\n" + String.join("\n", executed));
+    }
+}
@@ -89,6 +89,8 @@ export const authService = {
 };
 
 export const vehicleService = {
+  // Lista limitada pelo servidor (cars.vehicles.list-limit); catálogos grandes
+  // devem usar /vehicles/page com o cursor do cabeçalho X-Next-Cursor
   listVehicles: async () => {
     const response = await vehicleApi.get("/vehicles");
     return response.data;